@@ -0,0 +1,65 @@
+package net.silentchaos512.gear.benchmark;
+
+import net.minecraft.world.item.ItemStack;
+import net.silentchaos512.gear.api.item.GearType;
+import net.silentchaos512.gear.api.stats.ItemStats;
+import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.item.gear.GearPickaxeItem;
+import net.silentchaos512.gear.util.GearData;
+import net.silentchaos512.gear.util.GearStatMemo;
+import net.silentchaos512.gear.util.TraitHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link GearData#recalculateStats} and {@link TraitHelper#activateTraits} on the
+ * pickaxe from {@link GearFixtures}, with the shipped traits, materials, and parts loaded. The
+ * pickaxe item is registered, but its part items are still vanilla stand-ins.
+ * <p>
+ * Recalculating the same item again can reuse work from {@link GearStatMemo}, so the memos are
+ * discarded before each call in {@link #recalculateStatsWithoutMemo()} to measure a full
+ * recalculation.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GearDataBenchmark {
+    private ItemStack gear;
+
+    @Setup
+    public void setup() {
+        ShippedData.load();
+        GearPickaxeItem pickaxe = ShippedData.registerItem("pickaxe", () -> new GearPickaxeItem(GearType.PICKAXE));
+
+        gear = new ItemStack(pickaxe);
+        gear.setTag(GearFixtures.pickaxe());
+        // Start from the traits and stats of a real recalculation
+        GearData.recalculateStats(gear, null);
+    }
+
+    @Benchmark
+    public ItemStack recalculateStats() {
+        GearData.recalculateStats(gear, null);
+        return gear;
+    }
+
+    @Benchmark
+    public ItemStack recalculateStatsWithoutMemo() {
+        GearStatMemo.invalidateAll();
+        GearData.recalculateStats(gear, null);
+        return gear;
+    }
+
+    @Benchmark
+    public float activateTraits() {
+        return TraitHelper.activateTraits(gear, 0f, (trait, level, value) -> value + level);
+    }
+
+    @Benchmark
+    public float activateTraitsGetStat() {
+        return TraitHelper.activateTraits(gear, 10f, (trait, level, value) -> {
+            TraitActionContext context = new TraitActionContext(null, level, gear);
+            return trait.onGetStat(context, ItemStats.HARVEST_SPEED, value, 0f);
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package net.silentchaos512.gear.benchmark;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.ItemStats;
+import net.silentchaos512.gear.gear.part.PartData;
+import net.silentchaos512.gear.gear.part.PartManager;
+import net.silentchaos512.gear.gear.trait.TraitManager;
+
+/**
+ * Builds the NBT of the fixture pickaxe, which has iron, iron, and diamond main materials, an iron
+ * rod, and an iron tip, like the one in {@link StatBenchmark}. The shipped data must be loaded
+ * first, see {@link ShippedData#load()}.
+ * <p>
+ * Mod items are not registered, so vanilla items stand in for the part items. Reading the part
+ * still looks up the item and copies its tag, as it would for the real item.
+ */
+final class GearFixtures {
+    private GearFixtures() {throw new IllegalAccessError("Utility class");}
+
+    /**
+     * Gets the pickaxe's main part, as it is stored in the gear's construction NBT.
+     *
+     * @return The part NBT
+     */
+    static CompoundTag pickaxeHead() {
+        CompoundTag iron = material("iron", Items.IRON_INGOT);
+        CompoundTag diamond = material("diamond", Items.DIAMOND);
+        return part("pickaxe_head", iron, iron, diamond);
+    }
+
+    /**
+     * Gets the pickaxe's item tag, with the traits and stats the gear had when it was saved.
+     *
+     * @return The gear item's tag
+     */
+    static CompoundTag pickaxe() {
+        ListTag parts = new ListTag();
+        parts.add(pickaxeHead());
+        parts.add(part("rod", material("iron", Items.IRON_NUGGET)));
+        parts.add(part("tip", material("iron", Items.IRON_INGOT)));
+
+        ListTag traits = new ListTag();
+        traits.add(trait("malleable", 2));
+        traits.add(trait("magnetic", 1));
+        traits.add(trait("brittle", 1));
+        traits.add(trait("lustrous", 1));
+
+        CompoundTag stats = new CompoundTag();
+        for (ItemStat stat : ItemStats.allStatsOrdered()) {
+            stats.putFloat(stat.getStatId().toString(), stat.getBaseValue());
+        }
+
+        CompoundTag construction = new CompoundTag();
+        construction.put("Parts", parts);
+        CompoundTag properties = new CompoundTag();
+        properties.put("Traits", traits);
+        properties.put("Stats", stats);
+        CompoundTag data = new CompoundTag();
+        data.put("Construction", construction);
+        data.put("Properties", properties);
+        CompoundTag tag = new CompoundTag();
+        tag.put("SGear_Data", data);
+        return tag;
+    }
+
+    private static CompoundTag material(String name, Item item) {
+        CompoundTag tag = new CompoundTag();
+        tag.putString("ID", SilentGear.getId(name).toString());
+        tag.put("Item", new ItemStack(item).save(new CompoundTag()));
+        return tag;
+    }
+
+    private static CompoundTag part(String name, CompoundTag... materials) {
+        ResourceLocation id = SilentGear.getId(name);
+        if (PartManager.get(id) == null) {
+            throw new IllegalStateException("Part " + id + " did not load, check the log");
+        }
+
+        ListTag materialList = new ListTag();
+        for (CompoundTag material : materials) {
+            materialList.add(material.copy());
+        }
+
+        ItemStack craftingItem = new ItemStack(Items.PAPER);
+        craftingItem.getOrCreateTag().put("Materials", materialList);
+
+        CompoundTag tag = new CompoundTag();
+        tag.putString(PartData.NBT_ID, id.toString());
+        tag.put("Item", craftingItem.save(new CompoundTag()));
+        return tag;
+    }
+
+    private static CompoundTag trait(String name, int level) {
+        ResourceLocation id = SilentGear.getId(name);
+        if (TraitManager.get(id) == null) {
+            throw new IllegalStateException("Trait " + id + " did not load, check the log");
+        }
+
+        CompoundTag tag = new CompoundTag();
+        tag.putString("Name", id.toString());
+        tag.putByte("Level", (byte) level);
+        return tag;
+    }
+}
@@ -0,0 +1,37 @@
+package net.silentchaos512.gear.benchmark;
+
+import net.minecraft.nbt.CompoundTag;
+import net.silentchaos512.gear.gear.part.PartData;
+import net.silentchaos512.gear.util.GearView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading gear data from NBT, with the shipped traits, materials, and parts loaded.
+ * The fixture is the NBT of the pickaxe from {@link GearFixtures}.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GearReadBenchmark {
+    private CompoundTag partTag;
+    private CompoundTag gearTag;
+
+    @Setup
+    public void setup() {
+        ShippedData.load();
+
+        partTag = GearFixtures.pickaxeHead();
+        gearTag = GearFixtures.pickaxe();
+    }
+
+    @Benchmark
+    public PartData readPart() {
+        return PartData.read(partTag);
+    }
+
+    @Benchmark
+    public GearView readGear() {
+        return GearView.read(gearTag);
+    }
+}
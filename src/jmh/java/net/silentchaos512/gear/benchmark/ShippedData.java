@@ -0,0 +1,183 @@
+package net.silentchaos512.gear.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.minecraft.SharedConstants;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.PathPackResources;
+import net.minecraft.server.packs.resources.MultiPackResourceManager;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.InactiveProfiler;
+import net.minecraft.world.item.Item;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.GameData;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.stats.StatModifierMap;
+import net.silentchaos512.gear.config.DefaultConfigs;
+import net.silentchaos512.gear.gear.material.MaterialManager;
+import net.silentchaos512.gear.gear.part.PartManager;
+import net.silentchaos512.gear.gear.trait.TraitManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Reads the data generated by the data providers (MaterialsProvider, PartsProvider, etc.) straight
+ * from the generated resources folder, so benchmarks use the same numbers as the shipped mod
+ * without starting the game.
+ * <p>
+ * Traits, materials, and parts can also be loaded into {@link TraitManager},
+ * {@link MaterialManager}, and {@link PartManager}, through their normal reload listeners. Only
+ * vanilla is bootstrapped, so mod items are not registered unless a benchmark registers them with
+ * {@link #registerItem(String, Supplier)}. Part crafting items are replaced with tag ingredients
+ * for that reason, since an unknown item would fail the whole part. Materials are copied as they
+ * are, so the few which use a mod item as their crafting item will fail to load.
+ */
+final class ShippedData {
+    private static final String DATA_DIR_PROPERTY = "silentgear.benchmark.data";
+
+    private ShippedData() {throw new IllegalAccessError("Utility class");}
+
+    static JsonObject readMaterial(String name) {
+        return read(getDataDir().resolve("silentgear_materials").resolve(name + ".json"));
+    }
+
+    /**
+     * Gets the stats of a material for a part type, like the "main" or "tip" stats.
+     *
+     * @param materialJson The material JSON
+     * @param partType     The part type key in the material's stats object
+     * @return The stat modifiers, empty if the material has none for that part type
+     */
+    static StatModifierMap readMaterialStats(JsonObject materialJson, String partType) {
+        JsonObject stats = GsonHelper.getAsJsonObject(materialJson, "stats");
+        JsonElement json = stats.get(partType);
+        return json != null ? StatModifierMap.deserialize(json) : new StatModifierMap();
+    }
+
+    /**
+     * Loads the shipped traits, materials, and parts, and the default common config. Traits,
+     * materials, or parts which depend on mod registry objects may fail to load, which is logged
+     * like it would be in game.
+     */
+    static void load() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        DefaultConfigs.loadCommon();
+
+        Path pack = null;
+        try {
+            pack = Files.createTempDirectory("silentgear-benchmark");
+            Path namespace = pack.resolve("data").resolve("silentgear");
+            copyJson(getDataDir().resolve("silentgear_traits"), namespace.resolve("silentgear_traits"), UnaryOperator.identity());
+            copyJson(getDataDir().resolve("silentgear_materials"), namespace.resolve("silentgear_materials"), UnaryOperator.identity());
+            copyJson(getDataDir().resolve("silentgear_parts"), namespace.resolve("silentgear_parts"), ShippedData::replaceCraftingItem);
+
+            try (MultiPackResourceManager resourceManager = new MultiPackResourceManager(PackType.SERVER_DATA, List.of(new PathPackResources("benchmark", pack, false)))) {
+                // Materials and parts need traits, so these must be loaded in order
+                reload(TraitManager.INSTANCE, resourceManager);
+                reload(MaterialManager.INSTANCE, resourceManager);
+                reload(PartManager.INSTANCE, resourceManager);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create benchmark data pack", ex);
+        } finally {
+            if (pack != null) {
+                delete(pack);
+            }
+        }
+    }
+
+    /**
+     * Registers a mod item, like a gear item, so it has a registry name. The built-in registries
+     * are frozen by the bootstrap, so they are unfrozen first, as mod loading would do. Registering
+     * the same name again returns the item which is already registered.
+     *
+     * @param name    The item's path in the mod's namespace
+     * @param factory Creates the item, only called if it is not registered yet
+     * @param <T>     The item class
+     * @return The registered item
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Item> T registerItem(String name, Supplier<T> factory) {
+        ResourceLocation id = SilentGear.getId(name);
+        if (ForgeRegistries.ITEMS.containsKey(id)) {
+            return (T) ForgeRegistries.ITEMS.getValue(id);
+        }
+
+        GameData.unfreezeData();
+        T item = factory.get();
+        ForgeRegistries.ITEMS.register(id, item);
+        return item;
+    }
+
+    private static void reload(PreparableReloadListener listener, ResourceManager resourceManager) {
+        listener.reload(CompletableFuture::completedFuture, resourceManager, InactiveProfiler.INSTANCE, InactiveProfiler.INSTANCE, Runnable::run, Runnable::run).join();
+    }
+
+    private static JsonObject replaceCraftingItem(JsonObject json) {
+        if (json.has("crafting_item")) {
+            JsonObject ingredient = new JsonObject();
+            ingredient.addProperty("tag", "silentgear:benchmark");
+            json.add("crafting_item", ingredient);
+        }
+        return json;
+    }
+
+    private static void copyJson(Path from, Path to, UnaryOperator<JsonObject> transform) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(from)) {
+            files = stream.filter(p -> p.toString().endsWith(".json")).toList();
+        }
+
+        for (Path file : files) {
+            Path target = to.resolve(from.relativize(file).toString());
+            Files.createDirectories(target.getParent());
+            try (Writer writer = Files.newBufferedWriter(target)) {
+                writer.write(transform.apply(read(file)).toString());
+            }
+        }
+    }
+
+    private static void delete(Path dir) {
+        try (Stream<Path> stream = Files.walk(dir)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException ex) {
+            // Only a temporary directory, not worth failing the benchmark over
+        }
+    }
+
+    private static Path getDataDir() {
+        String dir = System.getProperty(DATA_DIR_PROPERTY);
+        if (dir == null) {
+            throw new IllegalStateException("System property " + DATA_DIR_PROPERTY + " is not set, run benchmarks with the jmh Gradle task");
+        }
+        return Paths.get(dir);
+    }
+
+    private static JsonObject read(Path path) {
+        try (Reader reader = Files.newBufferedReader(path)) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read " + path, ex);
+        }
+    }
+}
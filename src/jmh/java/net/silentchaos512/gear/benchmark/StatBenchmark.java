@@ -0,0 +1,120 @@
+package net.silentchaos512.gear.benchmark;
+
+import com.google.gson.JsonObject;
+import net.silentchaos512.gear.api.item.GearType;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.ItemStats;
+import net.silentchaos512.gear.api.stats.StatInstance;
+import net.silentchaos512.gear.api.stats.StatModifierMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks stat modifier deserialization and {@link ItemStat#compute}, using the stat modifiers
+ * of fixture items built from shipped materials:
+ * <ul>
+ *     <li>Tool: a pickaxe with iron, iron, and diamond main materials and an iron tip</li>
+ *     <li>Armor: a chestplate with iron, crimson iron, and diamond main materials and leather lining</li>
+ *     <li>Compound part: a main part made of iron, emerald, and diamond</li>
+ * </ul>
+ * These only measure the stat math, without loading any data. Whole recalculations and trait
+ * activation are covered by {@link GearDataBenchmark}, and reading gear NBT by
+ * {@link GearReadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatBenchmark {
+    private JsonObject ironJson;
+
+    private List<StatModifierMap> toolParts;
+    private List<StatModifierMap> armorParts;
+    private List<StatModifierMap> compoundMaterials;
+
+    private ItemStat[] stats;
+    // Modifiers for each stat, in the same order as stats
+    private List<List<StatInstance>> toolModifiers;
+    private List<List<StatInstance>> armorModifiers;
+    private List<List<StatInstance>> compoundModifiers;
+
+    @Setup
+    public void setup() {
+        ironJson = ShippedData.readMaterial("iron");
+        JsonObject crimsonIronJson = ShippedData.readMaterial("crimson_iron");
+        JsonObject diamondJson = ShippedData.readMaterial("diamond");
+        JsonObject emeraldJson = ShippedData.readMaterial("emerald");
+        JsonObject leatherJson = ShippedData.readMaterial("leather");
+
+        StatModifierMap ironMain = ShippedData.readMaterialStats(ironJson, "main");
+        StatModifierMap diamondMain = ShippedData.readMaterialStats(diamondJson, "main");
+
+        toolParts = List.of(ironMain, ironMain, diamondMain, ShippedData.readMaterialStats(ironJson, "tip"));
+        armorParts = List.of(ironMain, ShippedData.readMaterialStats(crimsonIronJson, "main"), diamondMain,
+                ShippedData.readMaterialStats(leatherJson, "lining"));
+        compoundMaterials = List.of(ironMain, ShippedData.readMaterialStats(emeraldJson, "main"), diamondMain);
+
+        stats = ItemStats.allStatsOrdered().toArray(new ItemStat[0]);
+        toolModifiers = collectAll(toolParts, GearType.PICKAXE);
+        armorModifiers = collectAll(armorParts, GearType.CHESTPLATE);
+        compoundModifiers = collectAll(compoundMaterials, GearType.PICKAXE);
+    }
+
+    private List<List<StatInstance>> collectAll(Collection<StatModifierMap> parts, GearType gearType) {
+        List<List<StatInstance>> ret = new ArrayList<>(stats.length);
+        for (ItemStat stat : stats) {
+            ret.add(collect(parts, stat, gearType));
+        }
+        return ret;
+    }
+
+    private static List<StatInstance> collect(Collection<StatModifierMap> parts, ItemStat stat, GearType gearType) {
+        List<StatInstance> mods = new ArrayList<>();
+        for (StatModifierMap map : parts) {
+            mods.addAll(map.get(stat, gearType));
+        }
+        return mods;
+    }
+
+    @Benchmark
+    public StatModifierMap deserializeMaterialStats() {
+        return ShippedData.readMaterialStats(ironJson, "main");
+    }
+
+    @Benchmark
+    public void computeToolStats(Blackhole blackhole) {
+        for (int i = 0; i < stats.length; ++i) {
+            ItemStat stat = stats[i];
+            blackhole.consume(stat.compute(stat.getBaseValue(), true, GearType.PICKAXE, GearType.PICKAXE, toolModifiers.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void computeArmorStats(Blackhole blackhole) {
+        for (int i = 0; i < stats.length; ++i) {
+            ItemStat stat = stats[i];
+            blackhole.consume(stat.compute(stat.getBaseValue(), true, GearType.CHESTPLATE, GearType.CHESTPLATE, armorModifiers.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void computeCompoundPartStats(Blackhole blackhole) {
+        for (List<StatInstance> mods : compoundModifiers) {
+            blackhole.consume(StatInstance.getWeightedAverageMod(mods, StatInstance.Operation.AVG));
+        }
+    }
+
+    /**
+     * Modifier lookup and calculation together, for each stat of the tool.
+     */
+    @Benchmark
+    public void collectAndComputeToolStats(Blackhole blackhole) {
+        for (ItemStat stat : stats) {
+            List<StatInstance> mods = collect(toolParts, stat, GearType.PICKAXE);
+            blackhole.consume(stat.compute(stat.getBaseValue(), true, GearType.PICKAXE, GearType.PICKAXE, mods));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package net.silentchaos512.gear.config;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+
+/**
+ * Loads configs with their default values for benchmarks, which do not start the game. This is in
+ * the config package because the config specs are package-private.
+ */
+public final class DefaultConfigs {
+    private DefaultConfigs() {throw new IllegalAccessError("Utility class");}
+
+    /**
+     * Loads the common config from an empty in-memory config, so every value is the default.
+     * Values can be read after this, instead of failing because the config is not loaded.
+     */
+    public static void loadCommon() {
+        if (!Config.Common.isLoaded()) {
+            Config.Common.spec.acceptConfig(CommentedConfig.inMemory());
+        }
+    }
+}
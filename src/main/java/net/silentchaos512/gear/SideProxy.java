@@ -11,6 +11,7 @@ import net.minecraft.world.level.Level;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
 import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.event.server.ServerStoppingEvent;
@@ -36,6 +37,8 @@ import net.silentchaos512.gear.gear.part.PartManager;
 import net.silentchaos512.gear.gear.trait.TraitManager;
 import net.silentchaos512.gear.item.CraftingItems;
 import net.silentchaos512.gear.network.Network;
+import net.silentchaos512.gear.network.SyncGearPartsPacket;
+import net.silentchaos512.gear.network.SyncMaterialsPacket;
 import net.silentchaos512.gear.setup.*;
 import net.silentchaos512.gear.util.Const;
 import net.silentchaos512.gear.world.SgWorldFeatures;
@@ -85,8 +88,13 @@ class SideProxy implements IProxy {
 
         MinecraftForge.EVENT_BUS.addListener(SgCommands::registerAll);
         MinecraftForge.EVENT_BUS.addListener(SideProxy::onAddReloadListeners);
+        MinecraftForge.EVENT_BUS.addListener(SideProxy::onTagsUpdated);
         MinecraftForge.EVENT_BUS.addListener(SideProxy::serverStarted);
         MinecraftForge.EVENT_BUS.addListener(SideProxy::serverStopping);
+
+        if (ModList.get().isLoaded(Const.CURIOS)) {
+            MinecraftForge.EVENT_BUS.addListener(CuriosCompat::onCurioChange);
+        }
     }
 
     private static void commonSetup(FMLCommonSetupEvent event) {
@@ -137,6 +145,15 @@ class SideProxy implements IProxy {
         }
     }
 
+    private static void onTagsUpdated(TagsUpdatedEvent event) {
+        // Ingredients which use tags may match different items now
+        MaterialManager.invalidateIngredientIndex();
+        PartManager.invalidateIngredientIndex();
+        // Ingredients are also written to the login sync packets
+        SyncMaterialsPacket.invalidateCache();
+        SyncGearPartsPacket.invalidateCache();
+    }
+
     private static void serverStarted(ServerStartedEvent event) {
         server = event.getServer();
         SilentGear.LOGGER.info(TraitManager.MARKER, "Traits loaded: {}", TraitManager.getValues().size());
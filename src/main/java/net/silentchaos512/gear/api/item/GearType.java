@@ -14,6 +14,7 @@ import net.silentchaos512.gear.util.GearHelper;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -29,6 +30,7 @@ public final class GearType {
     private static final Pattern VALID_NAME = Pattern.compile("[^a-z_]");
     private static final Map<String, GearType> VALUES = new HashMap<>();
     private static final Map<GearType, ICoreItem> ITEMS = new HashMap<>();
+    private static final AtomicInteger NEXT_ORDINAL = new AtomicInteger();
 
     // A non-existent gear type which matches nothing
     public static final GearType NONE = getOrCreate("none");
@@ -172,8 +174,11 @@ public final class GearType {
     }
 
     private final String name;
+    private final int ordinal;
     @Nullable
     private final GearType parent;
+    // Ordinals of this type and all of its ancestors, never modified after construction
+    private final BitSet ancestors;
     private final int animationFrames;
     private final Supplier<ItemStat> durabilityStat;
     private final float armorDurabilityMultiplier;
@@ -181,7 +186,10 @@ public final class GearType {
 
     private GearType(String name, @Nullable GearType parent, int animationFrames, Supplier<ItemStat> durabilityStat, float armorDurabilityMultiplier, Set<ToolAction> toolActions) {
         this.name = name;
+        this.ordinal = NEXT_ORDINAL.getAndIncrement();
         this.parent = parent;
+        this.ancestors = parent != null ? (BitSet) parent.ancestors.clone() : new BitSet();
+        this.ancestors.set(this.ordinal);
         this.animationFrames = animationFrames;
         this.durabilityStat = durabilityStat;
         this.armorDurabilityMultiplier = armorDurabilityMultiplier;
@@ -192,6 +200,16 @@ public final class GearType {
         return name;
     }
 
+    /**
+     * Gets a unique number for this gear type. Ordinals are assigned in the order gear types are
+     * created, starting at zero, so they can be used as array indices.
+     *
+     * @return The ordinal
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     /**
      * Gets the parent gear type, if there is one. The parent type may also have a parent.
      *
@@ -230,7 +248,7 @@ public final class GearType {
     }
 
     public boolean matches(GearType type) {
-        return matches(type.name, true);
+        return matches(type, true);
     }
 
     /**
@@ -243,14 +261,31 @@ public final class GearType {
      * @return True if this type's name is equal to type, or if its parent matches (recursive)
      */
     public boolean matches(String type, boolean includeAll) { //FIXME: The way includesAll is handled does not make sense anymore
-        if (type.contains("/")) {
-            return matches(type.split("/")[1], includeAll);
+        int slash = type.indexOf('/');
+        String typeName = slash >= 0 ? type.substring(slash + 1) : type;
+        GearType other = VALUES.get(typeName);
+        if (other != null) {
+            return matches(other, includeAll);
         }
-        return (includeAll && "all".equals(type)) || name.equals(type) || (parent != null && parent.matches(type, includeAll));
+        // Not a registered type, so only a type created outside of getOrCreate could match it
+        return matchesName(typeName);
     }
 
+    /**
+     * Check if this type is the given type, or if one of its ancestors is. The type "all" will
+     * match anything if {@code includeAll} is true. Ancestors are computed when the type is
+     * created, so this is a single bit test.
+     *
+     * @param type       The type to match
+     * @param includeAll Whether or not to consider the "all" type
+     * @return True if type is this type or one of its ancestors
+     */
     public boolean matches(GearType type, boolean includeAll) {
-        return matches(type.name, includeAll);
+        return (includeAll && type == ALL) || ancestors.get(type.ordinal);
+    }
+
+    private boolean matchesName(String type) {
+        return name.equals(type) || (parent != null && parent.matchesName(type));
     }
 
     public boolean isGear() {
@@ -67,6 +67,19 @@ public interface IGearPart extends IGearComponent<IPartData> {
         return normalLossRate;
     }
 
+    /**
+     * Checks if the stat modifiers of the part can be reused when gear stats are recalculated and
+     * the part's NBT has not changed. Only return true if {@code getStatModifiers} depends on
+     * nothing but the part data and the stat key, not on the gear item or on event listeners.
+     * Reused parts do not post {@link net.silentchaos512.gear.api.event.GetStatModifierEvent}
+     * again.
+     *
+     * @return True if unchanged parts may reuse their stat modifiers (defaults to false)
+     */
+    default boolean canReuseStatModifiers() {
+        return false;
+    }
+
     /**
      * Determine if the part can be used to craft an item of the given type.
      *
@@ -25,4 +25,8 @@ public class EvenSplitItemStat extends ItemStat {
         float value = super.compute(baseValue, clampValue, itemGearType, statGearType, modifiers);
         return value / this.splits;
     }
+
+    public int getSplits() {
+        return this.splits;
+    }
 }
@@ -9,7 +9,10 @@ import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.stats.StatInstance.Operation;
 import net.silentchaos512.utils.Color;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
 import java.util.function.Function;
 
 /**
@@ -33,6 +36,8 @@ public class ItemStat implements IItemStat {
     private final boolean displayAsInt;
     private final DisplayFormat displayFormat;
     private final Function<Float, Float> missingRodFunction;
+    // Assigned when registered with ItemStats
+    int ordinal = -1;
 
     public ItemStat(ResourceLocation name, float defaultValue, float minValue, float maxValue, ChatFormatting nameColor, Properties properties) {
         this(name, defaultValue, minValue, maxValue, new Color(nameColor.getColor() != null ? nameColor.getColor() : Color.VALUE_WHITE), properties);
@@ -99,6 +104,16 @@ public class ItemStat implements IItemStat {
         return displayAsInt;
     }
 
+    /**
+     * Gets the index of this stat in the order stats were registered, or -1 if the stat has not
+     * been registered with {@link ItemStats#register(ItemStat)}.
+     *
+     * @return The ordinal
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     public DisplayFormat getDisplayFormat() {
         return displayFormat;
     }
@@ -121,6 +136,25 @@ public class ItemStat implements IItemStat {
     private static final float WEIGHT_BASE_MAX = 40f;
     private static final float WEIGHT_DEVIATION_COEFF = 2f;
 
+    // Weights of modifiers with the minimum weight base, indexed by count. Computed with the same
+    // expression as getModifierWeight, so results are identical.
+    private static final float[] MIN_BASE_WEIGHTS = new float[32];
+
+    static {
+        for (int count = 1; count < MIN_BASE_WEIGHTS.length; ++count) {
+            MIN_BASE_WEIGHTS[count] = (float) Math.pow(WEIGHT_BASE_MIN, -(0.5 + 0.5f * count));
+        }
+    }
+
+    private static final int AVG = Operation.AVG.ordinal();
+    private static final int MAX = Operation.MAX.ordinal();
+    private static final int MUL1 = Operation.MUL1.ordinal();
+    private static final int MUL2 = Operation.MUL2.ordinal();
+    private static final int ADD = Operation.ADD.ordinal();
+
+    // Reused by compute on each thread, so computing stats does not allocate
+    private static final ThreadLocal<ModifierBuckets> BUCKETS = ThreadLocal.withInitial(ModifierBuckets::new);
+
     public float compute(Collection<StatInstance> modifiers) {
         return compute(this.baseValue, modifiers);
     }
@@ -138,36 +172,39 @@ public class ItemStat implements IItemStat {
         return compute(baseValue, clampValue, gearType, gearType, modifiers);
     }
 
-    @SuppressWarnings("OverlyComplexMethod")
     public float compute(float baseValue, boolean clampValue, GearType itemGearType, GearType statGearType, Collection<StatInstance> modifiers) {
         if (modifiers.isEmpty())
             return baseValue;
 
+        // Sort the modifier values by operation in one pass, then apply each operation in order
+        ModifierBuckets buckets = BUCKETS.get();
+        buckets.fill(modifiers);
+
         float f0 = baseValue;
 
         // Average (weighted, used for mains)
-        f0 += getWeightedAverage(modifiers, Operation.AVG);
+        f0 += getWeightedAverage(buckets.values[AVG], buckets.counts[AVG]);
 
         // Maximum
-        for (StatInstance mod : modifiers)
-            if (mod.getOp() == StatInstance.Operation.MAX)
-                f0 = Math.max(f0, mod.getValue());
+        float[] max = buckets.values[MAX];
+        for (int i = 0; i < buckets.counts[MAX]; ++i)
+            f0 = Math.max(f0, max[i]);
 
         // Multiplicative
         float f1 = f0;
-        for (StatInstance mod : modifiers)
-            if (mod.getOp() == StatInstance.Operation.MUL1)
-                f1 += f0 * mod.getValue();
+        float[] mul1 = buckets.values[MUL1];
+        for (int i = 0; i < buckets.counts[MUL1]; ++i)
+            f1 += f0 * mul1[i];
 
         // Multiplicative2
-        for (StatInstance mod : modifiers)
-            if (mod.getOp() == StatInstance.Operation.MUL2)
-                f1 *= 1.0f + mod.getValue();
+        float[] mul2 = buckets.values[MUL2];
+        for (int i = 0; i < buckets.counts[MUL2]; ++i)
+            f1 *= 1.0f + mul2[i];
 
         // Additive
-        for (StatInstance mod : modifiers)
-            if (mod.getOp() == StatInstance.Operation.ADD)
-                f1 += mod.getValue();
+        float[] add = buckets.values[ADD];
+        for (int i = 0; i < buckets.counts[ADD]; ++i)
+            f1 += add[i];
 
         return clampValue ? clampValue(f1) : f1;
     }
@@ -192,7 +229,7 @@ public class ItemStat implements IItemStat {
         for (StatInstance mod : modifiers) {
             if (mod.getOp() == op) {
                 ++count;
-                float weight = getModifierWeight(mod, primaryMod, count);
+                float weight = getModifierWeight(mod.getValue(), primaryMod, count);
                 totalWeight += weight;
                 ret += mod.getValue() * weight;
             }
@@ -200,9 +237,33 @@ public class ItemStat implements IItemStat {
         return count > 0 && totalWeight > 0 ? ret / totalWeight : ret;
     }
 
-    private static float getModifierWeight(StatInstance mod, float primaryMod, int count) {
-        float weightBase = WEIGHT_BASE_MIN + WEIGHT_DEVIATION_COEFF * (mod.getValue() - primaryMod) / primaryMod;
+    // Same as above, for values which are already filtered by operation
+    private static float getWeightedAverage(float[] values, int count) {
+        float primaryMod = -1f;
+        for (int i = 0; i < count; ++i) {
+            if (primaryMod < 0f) {
+                primaryMod = values[i];
+            }
+        }
+        primaryMod = primaryMod > 0 ? primaryMod : 1;
+
+        float ret = 0;
+        float totalWeight = 0f;
+        for (int i = 0; i < count; ++i) {
+            float weight = getModifierWeight(values[i], primaryMod, i + 1);
+            totalWeight += weight;
+            ret += values[i] * weight;
+        }
+        return count > 0 && totalWeight > 0 ? ret / totalWeight : ret;
+    }
+
+    private static float getModifierWeight(float value, float primaryMod, int count) {
+        float weightBase = WEIGHT_BASE_MIN + WEIGHT_DEVIATION_COEFF * (value - primaryMod) / primaryMod;
         float weightBaseClamped = Mth.clamp(weightBase, WEIGHT_BASE_MIN, WEIGHT_BASE_MAX);
+        if (weightBaseClamped == WEIGHT_BASE_MIN && count > 0 && count < MIN_BASE_WEIGHTS.length) {
+            // Most modifiers do not exceed the primary mod, so this skips the pow call
+            return MIN_BASE_WEIGHTS[count];
+        }
         return (float) Math.pow(weightBaseClamped, -(count == 0 ? count : 0.5 + 0.5f * count));
     }
 
@@ -284,6 +345,38 @@ public class ItemStat implements IItemStat {
         return Component.translatable("stat." + name.getNamespace() + "." + name.getPath());
     }
 
+    /**
+     * Modifier values grouped by operation, in the same order as the original collection.
+     */
+    private static final class ModifierBuckets {
+        private final float[][] values = new float[Operation.values().length][8];
+        private final int[] counts = new int[Operation.values().length];
+
+        private void fill(Collection<StatInstance> modifiers) {
+            Arrays.fill(counts, 0);
+            if (modifiers instanceof List && modifiers instanceof RandomAccess) {
+                List<StatInstance> list = (List<StatInstance>) modifiers;
+                for (int i = 0; i < list.size(); ++i) {
+                    add(list.get(i));
+                }
+            } else {
+                for (StatInstance mod : modifiers) {
+                    add(mod);
+                }
+            }
+        }
+
+        private void add(StatInstance mod) {
+            int op = mod.getOp().ordinal();
+            int count = counts[op];
+            if (count == values[op].length) {
+                values[op] = Arrays.copyOf(values[op], count * 2);
+            }
+            values[op][count] = mod.getValue();
+            counts[op] = count + 1;
+        }
+    }
+
     @SuppressWarnings("WeakerAccess")
     public static class Properties {
         private float baseValue = 0f;
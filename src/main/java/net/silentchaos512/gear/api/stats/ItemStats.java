@@ -14,6 +14,7 @@ import java.util.*;
  */
 public final class ItemStats {
     private static final Map<ResourceLocation, ItemStat> REGISTRY = new LinkedHashMap<>();
+    private static int nextOrdinal;
 
     static final List<ItemStat> STATS_IN_ORDER = new ArrayList<>();
 
@@ -129,6 +130,9 @@ public final class ItemStats {
     private ItemStats() {}
 
     public static ItemStat register(ItemStat stat) {
+        if (stat.ordinal < 0) {
+            stat.ordinal = nextOrdinal++;
+        }
         REGISTRY.put(stat.getStatId(), stat);
         return stat;
     }
@@ -124,6 +124,31 @@ public interface ITrait {
 
     float onGetStat(TraitActionContext context, ItemStat stat, float value, float damageRatio);
 
+    /**
+     * Checks if {@link #onGetStat} may change the value of the stat. Traits which cannot modify a
+     * stat are ignored when deciding if the previous value of the stat can be reused.
+     *
+     * @param stat The stat
+     * @return False only if {@code onGetStat} never changes the value of the stat
+     */
+    default boolean canModifyStat(ItemStat stat) {
+        return true;
+    }
+
+    /**
+     * Checks if the value {@link #onGetStat} gives the stat depends only on the trait level, the
+     * value, the damage ratio, and the player. If so, stat recalculation may reuse the previous
+     * value of the stat when none of those have changed. Traits which read the gear item, the
+     * world, or any other state must return false.
+     *
+     * @param stat The stat
+     * @return True if the result of {@code onGetStat} for the stat can be reused (defaults to
+     * false)
+     */
+    default boolean canReuseStatValue(ItemStat stat) {
+        return false;
+    }
+
     void onGetAttributeModifiers(TraitActionContext context, Multimap<Attribute, AttributeModifier> modifiers, String slot);
 
     @Deprecated
@@ -145,6 +170,17 @@ public interface ITrait {
 
     void onUpdate(TraitActionContext context, boolean isEquipped);
 
+    /**
+     * Gets when {@link #onUpdate} needs to be called. This is checked for every gear item in every
+     * player's inventory each tick, so traits which only act every so often should return a
+     * longer period, instead of checking the tick count in {@code onUpdate}.
+     *
+     * @return The tick interest, which is every tick by default
+     */
+    default TraitTickInterest getTickInterest() {
+        return TraitTickInterest.EVERY_TICK;
+    }
+
     ItemStack addLootDrops(TraitActionContext context, ItemStack stack);
 
     default CompoundTag write(int level) {
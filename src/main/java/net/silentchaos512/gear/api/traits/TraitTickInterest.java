@@ -0,0 +1,41 @@
+package net.silentchaos512.gear.api.traits;
+
+/**
+ * Describes when {@link ITrait#onUpdate} needs to be called for a trait. Traits are only updated
+ * on the server. Updates of traits with a period longer than one tick are spread out over the
+ * period, so items with the same trait are not all updated on the same tick.
+ *
+ * @param ticks        Whether the trait is updated at all
+ * @param period       The number of ticks between updates, at least one
+ * @param equippedOnly If true, the trait is only updated while the item is equipped (held in the
+ *                     main hand, worn as armor, or in a curio slot)
+ */
+public record TraitTickInterest(boolean ticks, int period, boolean equippedOnly) {
+    public static final TraitTickInterest NONE = new TraitTickInterest(false, 1, false);
+    public static final TraitTickInterest EVERY_TICK = new TraitTickInterest(true, 1, false);
+
+    public TraitTickInterest {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least one tick, got " + period);
+        }
+    }
+
+    /**
+     * Creates a tick interest for a trait which is updated once every {@code period} ticks.
+     *
+     * @param period The number of ticks between updates
+     * @return The tick interest
+     */
+    public static TraitTickInterest every(int period) {
+        return new TraitTickInterest(true, period, false);
+    }
+
+    /**
+     * Gets a copy of this tick interest which only updates the trait while the item is equipped.
+     *
+     * @return The tick interest
+     */
+    public TraitTickInterest equippedOnly() {
+        return new TraitTickInterest(this.ticks, this.period, true);
+    }
+}
@@ -10,12 +10,18 @@ import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
 
 import javax.annotation.Nullable;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class StatGearKey {
-    private static final Map<Pair<IItemStat, GearType>, StatGearKey> CACHE = new HashMap<>();
+    // Interned keys for registered stats, indexed by stat ordinal, then gear type ordinal. The
+    // arrays are never modified once published, new keys replace the whole table. This allows
+    // lookups from any thread without locking.
+    private static volatile StatGearKey[][] table = new StatGearKey[0][];
+    // Keys for stats which were not registered with ItemStats (rare)
+    private static final Map<Pair<IItemStat, GearType>, StatGearKey> UNREGISTERED = new ConcurrentHashMap<>();
 
     private final String key;
     private final IItemStat stat;
@@ -33,8 +39,45 @@ public final class StatGearKey {
     }
 
     public static StatGearKey of(IItemStat stat, GearType gearType) {
-        return CACHE.computeIfAbsent(Pair.of(stat, gearType), pair ->
-                new StatGearKey(pair.getFirst(), pair.getSecond()));
+        int statOrdinal = stat instanceof ItemStat ? ((ItemStat) stat).getOrdinal() : -1;
+        if (statOrdinal < 0) {
+            return UNREGISTERED.computeIfAbsent(Pair.of(stat, gearType), pair ->
+                    new StatGearKey(pair.getFirst(), pair.getSecond()));
+        }
+
+        int typeOrdinal = gearType.getOrdinal();
+        StatGearKey[][] table = StatGearKey.table;
+        if (statOrdinal < table.length) {
+            StatGearKey[] row = table[statOrdinal];
+            if (row != null && typeOrdinal < row.length) {
+                StatGearKey key = row[typeOrdinal];
+                if (key != null && key.stat == stat) {
+                    return key;
+                }
+            }
+        }
+
+        return intern(stat, gearType, statOrdinal, typeOrdinal);
+    }
+
+    private static synchronized StatGearKey intern(IItemStat stat, GearType gearType, int statOrdinal, int typeOrdinal) {
+        StatGearKey[][] oldTable = StatGearKey.table;
+        StatGearKey[] oldRow = statOrdinal < oldTable.length ? oldTable[statOrdinal] : null;
+        if (oldRow != null && typeOrdinal < oldRow.length && oldRow[typeOrdinal] != null && oldRow[typeOrdinal].stat == stat) {
+            // Another thread got here first
+            return oldRow[typeOrdinal];
+        }
+
+        StatGearKey key = new StatGearKey(stat, gearType);
+        StatGearKey[] newRow = oldRow != null
+                ? Arrays.copyOf(oldRow, Math.max(oldRow.length, typeOrdinal + 1))
+                : new StatGearKey[typeOrdinal + 1];
+        newRow[typeOrdinal] = key;
+        StatGearKey[][] newTable = Arrays.copyOf(oldTable, Math.max(oldTable.length, statOrdinal + 1));
+        newTable[statOrdinal] = newRow;
+
+        StatGearKey.table = newTable;
+        return key;
     }
 
     @Nullable
@@ -76,7 +119,7 @@ public final class StatGearKey {
             gearType = GearType.ALL;
         }
 
-        return new StatGearKey(stat, gearType);
+        return of(stat, gearType);
     }
 
     @Nullable
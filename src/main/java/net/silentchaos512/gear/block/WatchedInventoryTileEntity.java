@@ -0,0 +1,54 @@
+package net.silentchaos512.gear.block;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.state.BlockState;
+import net.silentchaos512.lib.tile.LockableSidedInventoryTileEntity;
+
+/**
+ * An inventory tile entity which is told when its contents may have changed, so it can recheck
+ * its recipe or wake up instead of checking every tick.
+ */
+public abstract class WatchedInventoryTileEntity extends LockableSidedInventoryTileEntity {
+    /**
+     * Passed to {@link #onInventoryChanged(int)} when it is not known which slot changed.
+     */
+    public static final int ANY_SLOT = -1;
+
+    protected WatchedInventoryTileEntity(BlockEntityType<?> typeIn, int inventorySize, BlockPos pos, BlockState state) {
+        super(typeIn, inventorySize, pos, state);
+    }
+
+    /**
+     * Called when the stack in a slot may have changed.
+     *
+     * @param slot The slot index, or {@link #ANY_SLOT} if any slot may have changed
+     */
+    protected abstract void onInventoryChanged(int slot);
+
+    @Override
+    public void setItem(int index, ItemStack stack) {
+        super.setItem(index, stack);
+        onInventoryChanged(index);
+    }
+
+    @Override
+    public ItemStack removeItem(int index, int count) {
+        onInventoryChanged(index);
+        return super.removeItem(index, count);
+    }
+
+    @Override
+    public ItemStack removeItemNoUpdate(int index) {
+        onInventoryChanged(index);
+        return super.removeItemNoUpdate(index);
+    }
+
+    @Override
+    public void setChanged() {
+        super.setChanged();
+        // Stacks may have been modified directly, like in container slots
+        onInventoryChanged(ANY_SLOT);
+    }
+}
@@ -18,6 +18,7 @@ import net.silentchaos512.gear.api.material.IMaterialInstance;
 import net.silentchaos512.gear.api.material.modifier.IMaterialModifier;
 import net.silentchaos512.gear.api.part.MaterialGrade;
 import net.silentchaos512.gear.block.INamedContainerExtraData;
+import net.silentchaos512.gear.block.WatchedInventoryTileEntity;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.gear.material.MaterialModifiers;
@@ -26,7 +27,6 @@ import net.silentchaos512.gear.setup.SgBlockEntities;
 import net.silentchaos512.gear.setup.SgBlocks;
 import net.silentchaos512.gear.setup.SgTags;
 import net.silentchaos512.gear.util.TextUtil;
-import net.silentchaos512.lib.tile.LockableSidedInventoryTileEntity;
 import net.silentchaos512.lib.tile.SyncVariable;
 import net.silentchaos512.lib.util.NameUtils;
 import net.silentchaos512.lib.util.TimeUtils;
@@ -34,7 +34,7 @@ import net.silentchaos512.utils.MathUtils;
 
 import javax.annotation.Nullable;
 
-public class ChargerTileEntity extends LockableSidedInventoryTileEntity implements INamedContainerExtraData {
+public class ChargerTileEntity extends WatchedInventoryTileEntity implements INamedContainerExtraData {
     static final int INVENTORY_SIZE = 3;
     private static final int UPDATE_FREQUENCY = TimeUtils.ticksFromSeconds(15);
 
@@ -50,6 +50,10 @@ public class ChargerTileEntity extends LockableSidedInventoryTileEntity implemen
     private int structureLevel;
 
     private int updateTimer = 0;
+    // What is stopping the input from being charged, if anything
+    private Blocker blocker = Blocker.NONE;
+    // Set when nothing can change until the inventory or surroundings change
+    private boolean sleeping = false;
 
     @SuppressWarnings("OverlyComplexAnonymousInnerClass")
     private final ContainerData fields = new ContainerData() {
@@ -170,31 +174,62 @@ public class ChargerTileEntity extends LockableSidedInventoryTileEntity implemen
     }
 
     public static void tick(Level level, BlockPos pos, BlockState state, ChargerTileEntity blockEntity) {
+        if (blockEntity.sleeping) return;
+
         blockEntity.gatherEnergy();
 
         if (++blockEntity.updateTimer > UPDATE_FREQUENCY) {
             if (blockEntity.checkStructureLevel()) {
                 SilentGear.LOGGER.info("{}} at {}: structure level updated to {}",
                         NameUtils.fromBlock(blockEntity.getBlockState()), blockEntity.worldPosition, blockEntity.structureLevel);
+                if (blockEntity.blocker == Blocker.STRUCTURE) {
+                    blockEntity.blocker = Blocker.NONE;
+                }
             }
             blockEntity.updateTimer = 0;
             //sendUpdate();
         }
 
-        ItemStack input = blockEntity.getItem(0);
-        ItemStack catalyst = blockEntity.getItem(1);
+        if (blockEntity.blocker == Blocker.NONE) {
+            blockEntity.blocker = blockEntity.tryCharging();
+        }
+
+        if (blockEntity.blocker == Blocker.ITEMS && blockEntity.charge >= blockEntity.getMaxCharge()) {
+            // Fully charged and waiting on the inventory, nothing to do until it changes
+            blockEntity.sleeping = true;
+        }
+    }
+
+    private Blocker tryCharging() {
+        ItemStack input = getItem(0);
+        ItemStack catalyst = getItem(1);
         if (input.isEmpty() || catalyst.isEmpty() || !(GearApi.isMaterial(input))) {
-            return;
+            return Blocker.ITEMS;
         }
 
-        int currentLevel = blockEntity.getMaterialChargeLevel(input);
+        int currentLevel = getMaterialChargeLevel(input);
 
-        if (currentLevel < blockEntity.structureLevel) {
-            blockEntity.handleCharging(input, catalyst);
-        } else if (blockEntity.progress > 0) {
-            blockEntity.progress = 0;
-            blockEntity.workTime = 100;
+        if (currentLevel < structureLevel) {
+            return handleCharging(input, catalyst);
         }
+
+        if (progress > 0) {
+            progress = 0;
+            workTime = 100;
+        }
+        return Blocker.STRUCTURE;
+    }
+
+    /**
+     * Resumes ticking. Called whenever the inventory or a neighboring block changes.
+     */
+    public void wake() {
+        if (sleeping) {
+            sleeping = false;
+            // The structure may have changed while asleep, check it right away
+            updateTimer = UPDATE_FREQUENCY;
+        }
+        blocker = Blocker.NONE;
     }
 
     protected void gatherEnergy() {
@@ -210,35 +245,46 @@ public class ChargerTileEntity extends LockableSidedInventoryTileEntity implemen
         }
     }
 
-    private void handleCharging(ItemStack input, ItemStack catalyst) {
+    private Blocker handleCharging(ItemStack input, ItemStack catalyst) {
         assert level != null;
         int chargeLevel = getChargingAgentTier(catalyst);
         int drainRate = getDrainRate(input, chargeLevel);
 
-        if (canCharge(input) && chargeLevel > getMaterialChargeLevel(input) && chargeLevel <= this.structureLevel && this.charge >= drainRate) {
-            if (wouldFitInOutputSlot(input, chargeLevel)) {
-                ++this.progress;
-                this.charge -= drainRate;
-                this.workTime = getWorkTime(input);
-
-                if (this.progress >= this.workTime) {
-                    if (getItem(2).isEmpty()) {
-                        ItemStack output = input.copy();
-                        output.setCount(1);
-                        chargeMaterial(output, chargeLevel);
-                        setItem(2, output);
-                    } else {
-                        getItem(2).grow(1);
-                    }
-
-                    this.progress = 0;
-                    removeItem(0, 1);
-                    removeItem(1, 1);
-                }
+        if (!canCharge(input) || chargeLevel <= getMaterialChargeLevel(input) || drainRate > getMaxCharge()) {
+            return Blocker.ITEMS;
+        }
+        if (chargeLevel > this.structureLevel) {
+            return Blocker.STRUCTURE;
+        }
+        if (this.charge < drainRate) {
+            // Wait for more charge
+            return Blocker.NONE;
+        }
+        if (!wouldFitInOutputSlot(input, chargeLevel)) {
+            return Blocker.ITEMS;
+        }
+
+        ++this.progress;
+        this.charge -= drainRate;
+        this.workTime = getWorkTime(input);
+
+        if (this.progress >= this.workTime) {
+            if (getItem(2).isEmpty()) {
+                ItemStack output = input.copy();
+                output.setCount(1);
+                chargeMaterial(output, chargeLevel);
+                setItem(2, output);
+            } else {
+                getItem(2).grow(1);
             }
 
-            // sendUpdate();
+            this.progress = 0;
+            removeItem(0, 1);
+            removeItem(1, 1);
         }
+
+        // sendUpdate();
+        return Blocker.NONE;
     }
 
     private boolean wouldFitInOutputSlot(ItemStack input, int chargeTier) {
@@ -313,10 +359,16 @@ public class ChargerTileEntity extends LockableSidedInventoryTileEntity implemen
         return false;
     }
 
+    @Override
+    protected void onInventoryChanged(int slot) {
+        wake();
+    }
+
     @Override
     public void load(CompoundTag tags) {
         super.load(tags);
         SyncVariable.Helper.readSyncVars(this, tags);
+        wake();
     }
 
     @Override
@@ -331,4 +383,12 @@ public class ChargerTileEntity extends LockableSidedInventoryTileEntity implemen
         SyncVariable.Helper.writeSyncVars(this, tags, SyncVariable.Type.PACKET);
         return tags;
     }
+
+    private enum Blocker {
+        NONE,
+        // Only an inventory change can help
+        ITEMS,
+        // Waiting for a higher structure level
+        STRUCTURE
+    }
 }
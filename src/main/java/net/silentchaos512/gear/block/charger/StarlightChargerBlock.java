@@ -3,6 +3,7 @@ package net.silentchaos512.gear.block.charger;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityTicker;
 import net.minecraft.world.level.block.entity.BlockEntityType;
@@ -37,6 +38,15 @@ public class StarlightChargerBlock extends ModContainerBlock<ChargerTileEntity>
         return SHAPE;
     }
 
+    @SuppressWarnings("deprecation")
+    @Override
+    public void neighborChanged(BlockState state, Level level, BlockPos pos, Block block, BlockPos fromPos, boolean isMoving) {
+        super.neighborChanged(state, level, pos, block, fromPos, isMoving);
+        if (level.getBlockEntity(pos) instanceof ChargerTileEntity blockEntity) {
+            blockEntity.wake();
+        }
+    }
+
     @Nullable
     @Override
     public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> blockEntityType) {
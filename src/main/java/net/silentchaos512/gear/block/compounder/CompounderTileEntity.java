@@ -15,6 +15,7 @@ import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
@@ -25,10 +26,10 @@ import net.silentchaos512.gear.api.material.IMaterialInstance;
 import net.silentchaos512.gear.api.material.MaterialList;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.block.IDroppableInventory;
+import net.silentchaos512.gear.block.WatchedInventoryTileEntity;
 import net.silentchaos512.gear.crafting.recipe.compounder.CompoundingRecipe;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.item.CompoundMaterialItem;
-import net.silentchaos512.lib.tile.LockableSidedInventoryTileEntity;
 import net.silentchaos512.lib.tile.SyncVariable;
 import net.silentchaos512.lib.util.InventoryUtils;
 import net.silentchaos512.lib.util.TimeUtils;
@@ -40,7 +41,7 @@ import java.util.Set;
 import java.util.stream.IntStream;
 
 @SuppressWarnings("WeakerAccess")
-public class CompounderTileEntity<R extends CompoundingRecipe> extends LockableSidedInventoryTileEntity implements IDroppableInventory {
+public class CompounderTileEntity<R extends CompoundingRecipe> extends WatchedInventoryTileEntity implements IDroppableInventory {
     public static final int STANDARD_INPUT_SLOTS = 4;
     static final int WORK_TIME = TimeUtils.ticksFromSeconds(SilentGear.isDevBuild() ? 2 : 10);
 
@@ -52,6 +53,13 @@ public class CompounderTileEntity<R extends CompoundingRecipe> extends LockableS
     @SyncVariable(name = "WorkEnabled")
     private boolean workEnabled = true;
 
+    // What the current inputs make, only updated when the inputs change
+    private boolean workDirty = true;
+    @Nullable private RecipeManager workRecipeManager;
+    @Nullable private R workRecipe;
+    private MaterialList workMaterials = MaterialList.empty();
+    private ItemStack workOutput = ItemStack.EMPTY;
+
     @SuppressWarnings("OverlyComplexAnonymousInnerClass") private final ContainerData fields = new ContainerData() {
         @Override
         public int get(int index) {
@@ -95,8 +103,46 @@ public class CompounderTileEntity<R extends CompoundingRecipe> extends LockableS
 
     @Nullable
     public R getRecipe() {
-        if (level == null) return null;
-        return level.getRecipeManager().getRecipeFor(getRecipeType(), this, level).orElse(null);
+        updateWork();
+        return workRecipe;
+    }
+
+    /**
+     * Finds the recipe or generic compound the inputs make, if the inputs (or recipes) changed since
+     * the last time. Otherwise the previous results are kept, so idle machines do no recipe lookups.
+     */
+    private void updateWork() {
+        if (level == null) return;
+
+        RecipeManager recipeManager = level.getRecipeManager();
+        if (!workDirty && workRecipeManager == recipeManager) return;
+
+        workDirty = false;
+        workRecipeManager = recipeManager;
+        workRecipe = null;
+        workMaterials = MaterialList.empty();
+        workOutput = ItemStack.EMPTY;
+
+        if (areInputsEmpty()) return;
+
+        workRecipe = recipeManager.getRecipeFor(getRecipeType(), this, level).orElse(null);
+        if (workRecipe != null) {
+            // Inputs match a custom recipe
+            workOutput = getWorkOutput(workRecipe, MaterialList.empty());
+        } else {
+            // No recipe, but we might be able to make a generic compound
+            MaterialList materials = getInputs();
+            if (hasMultipleMaterials(materials) && canCompoundMaterials(materials)) {
+                workMaterials = materials;
+                workOutput = getWorkOutput(null, materials);
+            }
+        }
+    }
+
+    private void markWorkDirty(int slot) {
+        if (slot < getInputSlotCount()) {
+            workDirty = true;
+        }
     }
 
     protected CompoundMaterialItem getOutputItem(MaterialList materials) {
@@ -148,27 +194,20 @@ public class CompounderTileEntity<R extends CompoundingRecipe> extends LockableS
             return;
         }
 
-        R recipe = blockEntity.getRecipe();
-        if (recipe != null) {
-            // Inputs match a custom recipe
-            blockEntity.doWork(recipe, MaterialList.empty());
-        } else {
-            // No recipe, but we might be able to make a generic compound
-            MaterialList materials = blockEntity.getInputs();
-            if (!hasMultipleMaterials(materials) || !blockEntity.canCompoundMaterials(materials)) {
-                // Not a valid combination
-                blockEntity.stopWork(true);
-                return;
-            }
-            blockEntity.doWork(null, materials);
+        blockEntity.updateWork();
+        if (blockEntity.workRecipe == null && blockEntity.workMaterials.isEmpty()) {
+            // Not a valid combination
+            blockEntity.stopWork(true);
+            return;
         }
+        blockEntity.doWork();
     }
 
-    private void doWork(@Nullable R recipe, MaterialList materials) {
+    private void doWork() {
         assert level != null;
 
         ItemStack current = getItem(getOutputSlotIndex());
-        ItemStack output = getWorkOutput(recipe, materials);
+        ItemStack output = workOutput;
 
         updateOutputHint(output);
 
@@ -188,7 +227,7 @@ public class CompounderTileEntity<R extends CompoundingRecipe> extends LockableS
             }
 
             if (progress >= WORK_TIME && !level.isClientSide) {
-                finishWork(recipe, materials, current);
+                finishWork(current);
             }
         } else {
             stopWork(false);
@@ -196,24 +235,29 @@ public class CompounderTileEntity<R extends CompoundingRecipe> extends LockableS
     }
 
     private void updateOutputHint(ItemStack hintStack) {
-        setItem(getOutputHintSlotIndex(), hintStack);
+        // Only replace the hint if it changed, to avoid copying it every tick
+        if (!ItemStack.matches(getHintStack(), hintStack)) {
+            setItem(getOutputHintSlotIndex(), hintStack.copy());
+        }
     }
 
     private void stopWork(boolean clearHintItem) {
         progress = 0;
 
         if (clearHintItem) {
-            setItem(getOutputHintSlotIndex(), ItemStack.EMPTY);
+            updateOutputHint(ItemStack.EMPTY);
         }
     }
 
-    private void finishWork(@Nullable R recipe, MaterialList materials, ItemStack current) {
+    private void finishWork(ItemStack current) {
+        // Copy before removing inputs, which clears the cached output
+        ItemStack output = workOutput.copy();
+
         progress = 0;
         for (int i = 0; i < getInputSlotCount(); ++i) {
             removeItem(i, 1);
         }
 
-        ItemStack output = getWorkOutput(recipe, materials);
         if (!current.isEmpty()) {
             current.grow(output.getCount());
         } else {
@@ -293,8 +337,8 @@ public class CompounderTileEntity<R extends CompoundingRecipe> extends LockableS
     }
 
     @Override
-    public void setItem(int index, ItemStack stack) {
-        super.setItem(index, stack);
+    protected void onInventoryChanged(int slot) {
+        markWorkDirty(slot);
     }
 
     @Override
@@ -337,6 +381,7 @@ public class CompounderTileEntity<R extends CompoundingRecipe> extends LockableS
     public void load(CompoundTag tags) {
         super.load(tags);
         SyncVariable.Helper.readSyncVars(this, tags);
+        workDirty = true;
     }
 
     @Override
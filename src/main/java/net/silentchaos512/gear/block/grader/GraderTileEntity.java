@@ -17,10 +17,10 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.material.IMaterialInstance;
 import net.silentchaos512.gear.api.part.MaterialGrade;
+import net.silentchaos512.gear.block.WatchedInventoryTileEntity;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.setup.SgBlockEntities;
 import net.silentchaos512.gear.setup.SgTags;
-import net.silentchaos512.lib.tile.LockableSidedInventoryTileEntity;
 import net.silentchaos512.lib.tile.SyncVariable;
 import net.silentchaos512.lib.util.InventoryUtils;
 import net.silentchaos512.lib.util.TimeUtils;
@@ -29,7 +29,7 @@ import net.silentchaos512.utils.EnumUtils;
 import javax.annotation.Nullable;
 import java.util.stream.IntStream;
 
-public class GraderTileEntity extends LockableSidedInventoryTileEntity {
+public class GraderTileEntity extends WatchedInventoryTileEntity {
     static final int BASE_ANALYZE_TIME = TimeUtils.ticksFromSeconds(SilentGear.isDevBuild() ? 1 : 5);
 
     static final int INPUT_SLOT = 0;
@@ -43,6 +43,8 @@ public class GraderTileEntity extends LockableSidedInventoryTileEntity {
     private int progress = 0;
     private MaterialGrade lastGradeAttempt = MaterialGrade.NONE;
     private boolean requireClientSync = false;
+    // Set when nothing can progress until the inventory changes
+    private boolean sleeping = false;
 
     private final ContainerData fields = new ContainerData() {
         @Override
@@ -80,30 +82,32 @@ public class GraderTileEntity extends LockableSidedInventoryTileEntity {
     }
 
     public static void tick(Level level, BlockPos pos, BlockState state, GraderTileEntity blockEntity) {
-        // Don't waste time if there is no input or no free output slots
-        ItemStack input = blockEntity.getInputStack();
-        if (input.isEmpty()) return;
+        if (blockEntity.sleeping) return;
 
-        int outputSlot = blockEntity.getFreeOutputSlot();
-        if (outputSlot < 0) return;
+        // Sleep if there is no gradable input, no free output slots, or no catalyst
+        ItemStack input = blockEntity.getItem(INPUT_SLOT);
+        MaterialInstance material = !input.isEmpty() ? MaterialInstance.from(input) : null;
+        if (material == null || material.getGrade() == MaterialGrade.getMax()) {
+            blockEntity.progress = 0;
+            blockEntity.sleeping = true;
+            return;
+        }
 
         ItemStack catalyst = blockEntity.getCatalystStack();
         int catalystTier = getCatalystTier(catalyst);
-        if (catalystTier < 1) return;
+        if (blockEntity.getFreeOutputSlot() < 0 || catalystTier < 1) {
+            blockEntity.sleeping = true;
+            return;
+        }
 
-        MaterialInstance material = MaterialInstance.from(input);
-        if (material != null && material.getGrade() != MaterialGrade.getMax()) {
-            if (blockEntity.progress < BASE_ANALYZE_TIME) {
-                ++blockEntity.progress;
-            }
+        if (blockEntity.progress < BASE_ANALYZE_TIME) {
+            ++blockEntity.progress;
+        }
 
-            if (blockEntity.progress >= BASE_ANALYZE_TIME && !level.isClientSide) {
-                blockEntity.progress = 0;
-                catalyst.shrink(1);
-                blockEntity.tryGradeItem(input, catalystTier, material);
-            }
-        } else {
+        if (blockEntity.progress >= BASE_ANALYZE_TIME && !level.isClientSide) {
             blockEntity.progress = 0;
+            catalyst.shrink(1);
+            blockEntity.tryGradeItem(input, catalystTier, material);
         }
 
 //        if (requireClientSync) {
@@ -142,6 +146,13 @@ public class GraderTileEntity extends LockableSidedInventoryTileEntity {
         return ItemStack.EMPTY;
     }
 
+    /**
+     * Resumes ticking. Called whenever the inventory changes.
+     */
+    public void wake() {
+        this.sleeping = false;
+    }
+
     private ItemStack getCatalystStack() {
         return getItem(CATALYST_SLOT);
     }
@@ -171,10 +182,16 @@ public class GraderTileEntity extends LockableSidedInventoryTileEntity {
         return 0;
     }
 
+    @Override
+    protected void onInventoryChanged(int slot) {
+        wake();
+    }
+
     @Override
     public void load(CompoundTag tags) {
         super.load(tags);
         SyncVariable.Helper.readSyncVars(this, tags);
+        wake();
     }
 
     @Override
@@ -3,32 +3,40 @@ package net.silentchaos512.gear.block.press;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.RegistryAccess;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.block.WatchedInventoryTileEntity;
 import net.silentchaos512.gear.crafting.recipe.press.PressingRecipe;
 import net.silentchaos512.gear.setup.SgBlockEntities;
 import net.silentchaos512.gear.setup.SgRecipes;
 import net.silentchaos512.gear.util.TextUtil;
-import net.silentchaos512.lib.tile.LockableSidedInventoryTileEntity;
 import net.silentchaos512.lib.tile.SyncVariable;
 import net.silentchaos512.lib.util.InventoryUtils;
 import net.silentchaos512.lib.util.TimeUtils;
 
 import javax.annotation.Nullable;
 
-public class MetalPressTileEntity extends LockableSidedInventoryTileEntity {
+public class MetalPressTileEntity extends WatchedInventoryTileEntity {
     static final int WORK_TIME = TimeUtils.ticksFromSeconds(SilentGear.isDevBuild() ? 2 : 10);
 
     @SyncVariable(name = "Progress")
     private int progress = 0;
 
+    // The recipe matching the input, only updated when the input changes
+    private boolean recipeDirty = true;
+    @Nullable private RecipeManager cachedRecipeManager;
+    @Nullable private PressingRecipe cachedRecipe;
+    private ItemStack cachedOutput = ItemStack.EMPTY;
+
     @SuppressWarnings("OverlyComplexAnonymousInnerClass") private final ContainerData fields = new ContainerData() {
         @Override
         public int get(int index) {
@@ -61,10 +69,22 @@ public class MetalPressTileEntity extends LockableSidedInventoryTileEntity {
 
     @Nullable
     public PressingRecipe getRecipe() {
-        if (level == null || getItem(0).isEmpty()) {
-            return null;
-        }
-        return level.getRecipeManager().getRecipeFor(SgRecipes.PRESSING_TYPE.get(), this, level).orElse(null);
+        updateRecipe();
+        return cachedRecipe;
+    }
+
+    private void updateRecipe() {
+        if (level == null) return;
+
+        RecipeManager recipeManager = level.getRecipeManager();
+        if (!recipeDirty && cachedRecipeManager == recipeManager) return;
+
+        recipeDirty = false;
+        cachedRecipeManager = recipeManager;
+        cachedRecipe = getItem(0).isEmpty()
+                ? null
+                : recipeManager.getRecipeFor(SgRecipes.PRESSING_TYPE.get(), this, level).orElse(null);
+        cachedOutput = getWorkOutput(cachedRecipe);
     }
 
     private ItemStack getWorkOutput(@Nullable PressingRecipe recipe) {
@@ -88,7 +108,7 @@ public class MetalPressTileEntity extends LockableSidedInventoryTileEntity {
         assert level != null;
 
         ItemStack current = getItem(1);
-        ItemStack output = getWorkOutput(recipe);
+        ItemStack output = cachedOutput;
 
         if (!current.isEmpty()) {
             int newCount = current.getCount() + output.getCount();
@@ -117,7 +137,7 @@ public class MetalPressTileEntity extends LockableSidedInventoryTileEntity {
     }
 
     private void finishWork(PressingRecipe recipe, ItemStack current) {
-        ItemStack output = getWorkOutput(recipe);
+        ItemStack output = cachedOutput.copy();
         if (!current.isEmpty()) {
             current.grow(output.getCount());
         } else {
@@ -137,6 +157,17 @@ public class MetalPressTileEntity extends LockableSidedInventoryTileEntity {
         }
     }
 
+    @Override
+    protected void onInventoryChanged(int slot) {
+        if (slot == 0 || slot == ANY_SLOT) recipeDirty = true;
+    }
+
+    @Override
+    public void load(CompoundTag tags) {
+        super.load(tags);
+        recipeDirty = true;
+    }
+
     @Override
     public int[] getSlotsForFace(Direction side) {
         return new int[]{0, 1};
@@ -27,15 +27,16 @@ import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.block.WatchedInventoryTileEntity;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.crafting.recipe.salvage.SalvagingRecipe;
 import net.silentchaos512.gear.gear.part.PartData;
 import net.silentchaos512.gear.setup.SgBlockEntities;
 import net.silentchaos512.gear.setup.SgRecipes;
-import net.silentchaos512.lib.tile.LockableSidedInventoryTileEntity;
 import net.silentchaos512.lib.tile.SyncVariable;
 import net.silentchaos512.lib.util.TimeUtils;
 import net.silentchaos512.utils.MathUtils;
@@ -44,7 +45,7 @@ import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.stream.IntStream;
 
-public class SalvagerTileEntity extends LockableSidedInventoryTileEntity {
+public class SalvagerTileEntity extends WatchedInventoryTileEntity {
     static final int BASE_WORK_TIME = TimeUtils.ticksFromSeconds(SilentGear.isDevBuild() ? 2 : 10);
     private static final int INPUT_SLOT = 0;
     private static final int[] SLOTS_INPUT = {INPUT_SLOT};
@@ -54,6 +55,11 @@ public class SalvagerTileEntity extends LockableSidedInventoryTileEntity {
 
     @SyncVariable(name = "progress") int progress = 0;
 
+    // The recipe matching the input, only updated when the input changes
+    private boolean recipeDirty = true;
+    @Nullable private RecipeManager cachedRecipeManager;
+    @Nullable private SalvagingRecipe cachedRecipe;
+
     private final ContainerData fields = new ContainerData() {
         @Override
         public int get(int index) {
@@ -78,7 +84,14 @@ public class SalvagerTileEntity extends LockableSidedInventoryTileEntity {
     @Nullable
     private SalvagingRecipe getRecipe(ItemStack input) {
         if (level == null || input.isEmpty()) return null;
-        return level.getRecipeManager().getRecipeFor(SgRecipes.SALVAGING_TYPE.get(), this, level).orElse(null);
+
+        RecipeManager recipeManager = level.getRecipeManager();
+        if (recipeDirty || cachedRecipeManager != recipeManager) {
+            recipeDirty = false;
+            cachedRecipeManager = recipeManager;
+            cachedRecipe = recipeManager.getRecipeFor(SgRecipes.SALVAGING_TYPE.get(), this, level).orElse(null);
+        }
+        return cachedRecipe;
     }
 
     @Override
@@ -106,6 +119,7 @@ public class SalvagerTileEntity extends LockableSidedInventoryTileEntity {
 
                 blockEntity.progress = 0;
                 input.shrink(1);
+                blockEntity.recipeDirty = true;
                 if (input.isEmpty()) {
                     blockEntity.setItem(0, ItemStack.EMPTY);
                 }
@@ -169,6 +183,17 @@ public class SalvagerTileEntity extends LockableSidedInventoryTileEntity {
         return true;
     }
 
+    @Override
+    protected void onInventoryChanged(int slot) {
+        if (slot == ANY_SLOT || isInputSlot(slot)) recipeDirty = true;
+    }
+
+    @Override
+    public void load(CompoundTag tags) {
+        super.load(tags);
+        recipeDirty = true;
+    }
+
     @Override
     public CompoundTag getUpdateTag() {
         CompoundTag tags = super.getUpdateTag();
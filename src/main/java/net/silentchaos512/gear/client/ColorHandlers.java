@@ -1,5 +1,6 @@
 package net.silentchaos512.gear.client;
 
+import net.minecraft.client.color.item.ItemColor;
 import net.minecraft.client.color.item.ItemColors;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.client.event.RegisterColorHandlersEvent;
@@ -9,11 +10,13 @@ import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.material.IMaterialInstance;
 import net.silentchaos512.gear.api.part.PartType;
+import net.silentchaos512.gear.client.model.ModelErrorLogging;
 import net.silentchaos512.gear.client.util.ColorUtils;
 import net.silentchaos512.gear.setup.SgItems;
 import net.silentchaos512.gear.item.CompoundPartItem;
 import net.silentchaos512.gear.item.FragmentItem;
 import net.silentchaos512.gear.item.IColoredMaterialItem;
+import net.silentchaos512.gear.util.GearColorCache;
 import net.silentchaos512.utils.Color;
 
 public final class ColorHandlers {
@@ -27,11 +30,11 @@ public final class ColorHandlers {
             return;
         }
 
-        // Tools, armor, shields, etc.
+        // Tools, armor, shields, etc. Colors are cached by model key.
         ForgeRegistries.ITEMS.getValues().stream()
                 .filter(item -> item instanceof ICoreItem /*item instanceof GearArmorItem || item instanceof GearShieldItem*/)
                 .map(item -> (ICoreItem) item)
-                .forEach(item -> event.register(item.getItemColors(), item));
+                .forEach(item -> event.register(cached(item.getItemColors()), item));
 
         // Gear parts
         ForgeRegistries.ITEMS.getValues().stream()
@@ -72,4 +75,15 @@ public final class ColorHandlers {
                 return Color.VALUE_WHITE;
         }
     }
+
+    private static ItemColor cached(ItemColor colors) {
+        return (stack, tintIndex) -> GearColorCache.getColor(stack, tintIndex, () -> {
+            try {
+                return colors.getColor(stack, tintIndex);
+            } catch (Exception ex) {
+                ModelErrorLogging.notifyOfException(ex, "item color");
+                return Color.VALUE_WHITE;
+            }
+        });
+    }
 }
@@ -28,6 +28,7 @@ import net.silentchaos512.gear.gear.part.AbstractGearPart;
 import net.silentchaos512.gear.gear.part.PartData;
 import net.silentchaos512.gear.item.CompoundPartItem;
 import net.silentchaos512.gear.setup.SgTags;
+import net.silentchaos512.gear.util.ComponentItemFilter;
 import net.silentchaos512.gear.util.TextUtil;
 import net.silentchaos512.gear.util.TierHelper;
 import net.silentchaos512.lib.event.ClientTicks;
@@ -74,16 +75,19 @@ public final class TooltipHandler {
             onStarlightChargerCatalystTooltip(event);
         }
 
-        MaterialInstance material = MaterialInstance.from(stack);
-        if (material != null) {
-            onMaterialTooltip(event, stack, material);
-            return;
-        }
+        // Most items cannot be materials or parts, so skip the slow lookups for those
+        if (ComponentItemFilter.mightBeComponent(stack)) {
+            MaterialInstance material = MaterialInstance.from(stack);
+            if (material != null) {
+                onMaterialTooltip(event, stack, material);
+                return;
+            }
 
-        PartData part = PartData.from(stack);
-        if (part != null /*&& !part.isBlacklisted(stack)*/) {
-            onPartTooltip(event, stack, part);
-            return;
+            PartData part = PartData.from(stack);
+            if (part != null /*&& !part.isBlacklisted(stack)*/) {
+                onPartTooltip(event, stack, part);
+                return;
+            }
         }
 
         // Nerfed gear?
@@ -1,14 +1,15 @@
 package net.silentchaos512.gear.client.material;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
 import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraft.world.entity.player.Player;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.material.IMaterial;
@@ -17,129 +18,89 @@ import net.silentchaos512.gear.api.material.IMaterialInstance;
 import net.silentchaos512.gear.api.part.IGearPart;
 import net.silentchaos512.gear.api.part.IPartDisplay;
 import net.silentchaos512.gear.api.part.PartDisplay;
+import net.silentchaos512.gear.util.GearColorCache;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.gear.material.MaterialManager;
-import net.silentchaos512.gear.util.IEarlySelectiveReloadListener;
+import net.silentchaos512.gear.util.ParallelJsonLoader;
 import net.silentchaos512.gear.util.TextUtil;
-import org.apache.commons.io.IOUtils;
 
 import javax.annotation.Nullable;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-public final class GearDisplayManager implements IEarlySelectiveReloadListener {
+public final class GearDisplayManager implements PreparableReloadListener {
     public static final GearDisplayManager INSTANCE = new GearDisplayManager();
 
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
 
     private static final String PATH_MATERIALS = "silentgear_materials";
     private static final String PATH_PARTS = "silentgear_parts";
-    private static final Map<ResourceLocation, IMaterialDisplay> MATERIALS = Collections.synchronizedMap(new LinkedHashMap<>());
-    private static final Map<ResourceLocation, IPartDisplay> PARTS = Collections.synchronizedMap(new LinkedHashMap<>());
-    private static final Collection<String> ERROR_LIST = new ArrayList<>();
+    // Replaced as a whole when resources are reloaded, so readers (mostly model baking and item
+    // colors) never need to lock
+    private static volatile Map<ResourceLocation, IMaterialDisplay> MATERIALS = ImmutableMap.of();
+    private static volatile Map<ResourceLocation, IPartDisplay> PARTS = ImmutableMap.of();
+    private static volatile Collection<String> ERROR_LIST = ImmutableList.of();
 
     private GearDisplayManager() {}
 
     @Override
-    public void onResourceManagerReload(ResourceManager resourceManager) {
+    public CompletableFuture<Void> reload(PreparationBarrier barrier, ResourceManager resourceManager, ProfilerFiller preparationsProfiler, ProfilerFiller reloadProfiler, Executor backgroundExecutor, Executor gameExecutor) {
 //        CompoundPartModelLoader.clearCaches();
 //        FragmentModelLoader.clearCaches();
 //        GearModelLoader.clearCaches();
 
-        ERROR_LIST.clear();
-        reloadMaterials(resourceManager);
-        reloadParts(resourceManager);
+        // Models are applied before the barrier, so they are ready for other listeners' apply phases
+        CompletableFuture<List<ParallelJsonLoader.Result<IMaterialDisplay>>> materials = ParallelJsonLoader.readAll(resourceManager, PATH_MATERIALS, GSON, backgroundExecutor)
+                .thenCompose(files -> ParallelJsonLoader.deserializeAll(files, file -> MaterialDisplay.deserialize(file.id(), file.json()), backgroundExecutor));
+        CompletableFuture<List<ParallelJsonLoader.Result<IPartDisplay>>> parts = ParallelJsonLoader.readAll(resourceManager, PATH_PARTS, GSON, backgroundExecutor)
+                .thenCompose(files -> ParallelJsonLoader.deserializeAll(files, file -> PartDisplay.deserialize(file.id(), file.json()), backgroundExecutor));
+
+        return materials.thenAcceptBoth(parts, (materialResults, partResults) -> {
+            Collection<String> errors = new ArrayList<>();
+            if (!materialResults.isEmpty()) {
+                SilentGear.LOGGER.info("Reloading material model files");
+                MATERIALS = collect(materialResults, "material", errors);
+            }
+            if (!partResults.isEmpty()) {
+                SilentGear.LOGGER.info("Reloading part model files");
+                PARTS = collect(partResults, "part", errors);
+            }
+            ERROR_LIST = ImmutableList.copyOf(errors);
+            GearColorCache.invalidate();
+        }).thenCompose(barrier::wait);
     }
 
-    private static void reloadMaterials(ResourceManager resourceManager) {
-        Map<ResourceLocation, Resource> resources = resourceManager.listResources(PATH_MATERIALS, s -> s.toString().endsWith(".json"));
-        if (resources.isEmpty()) return;
-
-        synchronized (MATERIALS) {
-            SilentGear.LOGGER.info("Reloading material model files");
-            MATERIALS.clear();
-
-            String packName = "ERROR";
-            for (ResourceLocation id : resources.keySet()) {
-                String path = id.getPath().substring(PATH_MATERIALS.length() + 1, id.getPath().length() - ".json".length());
-                ResourceLocation name = new ResourceLocation(id.getNamespace(), path);
-
-                Optional<Resource> resourceOptional = resourceManager.getResource(id);
-                if (resourceOptional.isPresent()) {
-                    Resource iresource = resourceOptional.get();
-                    packName = iresource.sourcePackId();
-                    JsonObject json = null;
-                    try {
-                        json = GsonHelper.fromJson(GSON, IOUtils.toString(iresource.open(), StandardCharsets.UTF_8), JsonObject.class);
-                    } catch (IOException ex) {
-                        SilentGear.LOGGER.error("Could not read material model {}", name, ex);
-                        ERROR_LIST.add(String.format("material:%s (%s)", name, packName));
-                    }
-
-                    if (json == null) {
-                        SilentGear.LOGGER.error("Could not load material model {} as it's null or empty", name);
-                    } else {
-                        IMaterialDisplay model = MaterialDisplay.deserialize(name, json);
-                        MATERIALS.put(name, model);
-                    }
-                }
+    private static <T> Map<ResourceLocation, T> collect(List<ParallelJsonLoader.Result<T>> results, String type, Collection<String> errors) {
+        Map<ResourceLocation, T> map = new LinkedHashMap<>();
+        for (ParallelJsonLoader.Result<T> result : results) {
+            ParallelJsonLoader.JsonFile file = result.file();
+            if (file.error() != null) {
+                SilentGear.LOGGER.error("Could not read {} model {}", type, file.id(), file.error());
+                errors.add(String.format("%s:%s (%s)", type, file.id(), file.packName()));
             }
-        }
-    }
 
-    private static void reloadParts(ResourceManager resourceManager) {
-        Map<ResourceLocation, Resource> resources = resourceManager.listResources(PATH_PARTS, s -> s.toString().endsWith(".json"));
-        if (resources.isEmpty()) return;
-
-        synchronized (PARTS) {
-            SilentGear.LOGGER.info("Reloading part model files");
-            PARTS.clear();
-
-            String packName = "ERROR";
-            for (ResourceLocation id : resources.keySet()) {
-                String path = id.getPath().substring(PATH_PARTS.length() + 1, id.getPath().length() - ".json".length());
-                ResourceLocation name = new ResourceLocation(id.getNamespace(), path);
-
-                Optional<Resource> resourceOptional = resourceManager.getResource(id);
-                if (resourceOptional.isPresent()) {
-                    Resource iresource = resourceOptional.get();
-                    packName = iresource.sourcePackId();
-                    JsonObject json = null;
-                    try {
-                        json = GsonHelper.fromJson(GSON, IOUtils.toString(iresource.open(), StandardCharsets.UTF_8), JsonObject.class);
-                    } catch (IOException ex) {
-                        SilentGear.LOGGER.error("Could not read part model {}", name, ex);
-                        ERROR_LIST.add(String.format("part:%s (%s)", name, packName));
-                    }
-
-                    if (json == null) {
-                        SilentGear.LOGGER.error("Could not load part model {} as it's null or empty", name);
-                    } else {
-                        IPartDisplay model = PartDisplay.deserialize(name, json);
-                        PARTS.put(name, model);
-                    }
-                }
+            if (result.value() == null) {
+                SilentGear.LOGGER.error("Could not load {} model {} as it's null or empty", type, file.id());
+            } else {
+                map.put(file.id(), result.value());
             }
         }
+        return ImmutableMap.copyOf(map);
     }
 
     public static Collection<IMaterialDisplay> getMaterials() {
-        synchronized (MATERIALS) {
-            Collection<IMaterialDisplay> ret = new ArrayList<>();
-            for (IMaterial material : MaterialManager.getValues()) {
-                MaterialInstance mat = MaterialInstance.of(material);
-                ret.add(mat.getDisplayProperties());
-            }
-            ret.addAll(MATERIALS.values());
-            return ret;
+        Collection<IMaterialDisplay> ret = new ArrayList<>();
+        for (IMaterial material : MaterialManager.getValues()) {
+            MaterialInstance mat = MaterialInstance.of(material);
+            ret.add(mat.getDisplayProperties());
         }
+        ret.addAll(MATERIALS.values());
+        return ret;
     }
 
     public static Collection<IPartDisplay> getParts() {
-        synchronized (PARTS) {
-            return PARTS.values();
-        }
+        return PARTS.values();
     }
 
     /**
@@ -180,9 +141,7 @@ public final class GearDisplayManager implements IEarlySelectiveReloadListener {
     @Deprecated
     @Nullable
     public static IMaterialDisplay getMaterial(ResourceLocation materialId) {
-        synchronized (MATERIALS) {
-            return MATERIALS.get(materialId);
-        }
+        return MATERIALS.get(materialId);
     }
 
     @Nullable
@@ -192,9 +151,7 @@ public final class GearDisplayManager implements IEarlySelectiveReloadListener {
 
     @Nullable
     public static IPartDisplay getPart(ResourceLocation partId) {
-        synchronized (PARTS) {
-            return PARTS.get(partId);
-        }
+        return PARTS.get(partId);
     }
 
     public static Collection<Component> getErrorMessages(Player player) {
@@ -1,7 +1,5 @@
 package net.silentchaos512.gear.client.util;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.minecraft.world.item.ItemStack;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.item.ICoreItem;
@@ -17,10 +15,7 @@ import net.silentchaos512.gear.util.GearData;
 import net.silentchaos512.utils.Color;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 public final class ColorUtils {
     private ColorUtils() {}
@@ -34,17 +29,9 @@ public final class ColorUtils {
         for (IMaterialInstance mat : materials) {
             IMaterialDisplay model = mat.getDisplayProperties();
             int color = model.getLayerColor(item.getGearType(), part, mat, layer);
-            int r = (color >> 16) & 0xFF;
-            int g = (color >> 8) & 0xFF;
-            int b = color & 0xFF;
             int colorWeight = (materials.size() - i) * (materials.size() - i);
-            for (int j = 0; j < colorWeight; ++j) {
-                maxColorSum += Math.max(r, Math.max(g, b));
-                componentSums[0] += r;
-                componentSums[1] += g;
-                componentSums[2] += b;
-                ++colorCount;
-            }
+            maxColorSum += addWeightedColor(componentSums, color, colorWeight);
+            colorCount += colorWeight;
             ++i;
         }
 
@@ -62,17 +49,9 @@ public final class ColorUtils {
             List<MaterialLayer> layers = model.getLayerList(item.getGearType(), item.getPartType(), mat).getLayers();
             if (layers.size() > layer) {
                 int color = model.getLayerColor(item.getGearType(), item.getPartType(), mat, layer);
-                int r = (color >> 16) & 0xFF;
-                int g = (color >> 8) & 0xFF;
-                int b = color & 0xFF;
                 int colorWeight = item.getColorWeight(i, materials.size());
-                for (int j = 0; j < colorWeight; ++j) {
-                    maxColorSum += Math.max(r, Math.max(g, b));
-                    componentSums[0] += r;
-                    componentSums[1] += g;
-                    componentSums[2] += b;
-                    ++colorCount;
-                }
+                maxColorSum += addWeightedColor(componentSums, color, colorWeight);
+                colorCount += colorWeight;
                 ++i;
             }
         }
@@ -91,17 +70,9 @@ public final class ColorUtils {
             List<MaterialLayer> layers = model.getLayerList(GearType.ALL, PartType.MAIN, mat).getLayers();
             if (layers.size() > layer) {
                 int color = layers.get(layer).getColor();
-                int r = (color >> 16) & 0xFF;
-                int g = (color >> 8) & 0xFF;
-                int b = color & 0xFF;
                 int colorWeight = item.getColorWeight(i, materials.size());
-                for (int j = 0; j < colorWeight; ++j) {
-                    maxColorSum += Math.max(r, Math.max(g, b));
-                    componentSums[0] += r;
-                    componentSums[1] += g;
-                    componentSums[2] += b;
-                    ++colorCount;
-                }
+                maxColorSum += addWeightedColor(componentSums, color, colorWeight);
+                colorCount += colorWeight;
                 ++i;
             }
         }
@@ -127,17 +98,18 @@ public final class ColorUtils {
         return Color.VALUE_WHITE;
     }
 
+    /**
+     * Blends the colors of all parts of the given type on the gear. This is not cached, item color
+     * handlers of gear items are wrapped with {@link net.silentchaos512.gear.util.GearColorCache}.
+     *
+     * @param stack    The gear item
+     * @param partType The part type
+     * @return The blended color, or white if the gear has no parts of the type
+     */
     public static int getBlendedColor(ItemStack stack, PartType partType) {
-        if (hasCachedColor(stack, partType, 0)) {
-            return getCachedColor(stack, partType, 0);
-        }
-
-        // Calculate and cache the layer color
         List<PartData> list = GearData.getConstructionParts(stack).getPartsOfType(partType);
         if (!list.isEmpty()) {
-            int color = getBlendedColor(stack, list) & 0xFFFFFF;
-            setCachedColor(stack, partType, 0, color);
-            return color;
+            return getBlendedColor(stack, list) & 0xFFFFFF;
         }
         return Color.VALUE_WHITE;
     }
@@ -151,63 +123,27 @@ public final class ColorUtils {
         for (int i = 0; i < partCount; ++i) {
             PartData part = parts.get(i);
             int color = part.get().getColor(part, gear, 0, 0);
-            int r = (color >> 16) & 0xFF;
-            int g = (color >> 8) & 0xFF;
-            int b = color & 0xFF;
-            // Add earlier colors multiple times, to give them greater weight
+            // Earlier colors are given greater weight
             int colorWeight = (partCount - i) * (partCount - i);
-            for (int j = 0; j < colorWeight; ++j) {
-                maxColorSum += Math.max(r, Math.max(g, b));
-                componentSums[0] += r;
-                componentSums[1] += g;
-                componentSums[2] += b;
-                ++colorCount;
-            }
+            maxColorSum += addWeightedColor(componentSums, color, colorWeight);
+            colorCount += colorWeight;
         }
 
-        if (colorCount > 0) {
-            int r = componentSums[0] / colorCount;
-            int g = componentSums[1] / colorCount;
-            int b = componentSums[2] / colorCount;
-            float maxAverage = (float) maxColorSum / (float) colorCount;
-            float max = (float) Math.max(r, Math.max(g, b));
-            r = (int) ((float) r * maxAverage / max);
-            g = (int) ((float) g * maxAverage / max);
-            b = (int) ((float) b * maxAverage / max);
-            int finalColor = (r << 8) + g;
-            finalColor = (finalColor << 8) + b;
-            return finalColor;
-        }
-
-        return Color.VALUE_WHITE;
-    }
-
-    public static final Cache<String, Map<PartType, Integer>> GEAR_COLOR_CACHE = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
-
-    public static boolean hasCachedColor(ItemStack stack, PartType partType, int animationFrame) {
-        String modelKey = GearData.getModelKey(stack, animationFrame);
-        Map<PartType, Integer> map = GEAR_COLOR_CACHE.getIfPresent(modelKey);
-        return map != null && map.containsKey(partType);
-    }
-
-    public static int getCachedColor(ItemStack stack, PartType partType, int animationFrame) {
-        Map<PartType, Integer> partTypeMap = GEAR_COLOR_CACHE.getIfPresent(GearData.getModelKey(stack, animationFrame));
-        if (partTypeMap != null) {
-            return partTypeMap.getOrDefault(partType, Color.VALUE_WHITE);
-        }
-        return Color.VALUE_WHITE;
+        return blendColors(componentSums, maxColorSum, colorCount);
     }
 
-    public static void setCachedColor(ItemStack stack, PartType partType, int animationFrame, int color) {
-        String modelKey = GearData.getModelKey(stack, animationFrame);
-        Map<PartType, Integer> map = GEAR_COLOR_CACHE.getIfPresent(modelKey);
-        if (map == null) {
-            map = new HashMap<>();
-            GEAR_COLOR_CACHE.put(modelKey, map);
-        }
-        map.put(partType, color);
+    /**
+     * Adds the color components to the sums, as if the color were added {@code weight} times.
+     *
+     * @return The weighted max component, to add to the max color sum
+     */
+    private static int addWeightedColor(int[] componentSums, int color, int weight) {
+        int r = (color >> 16) & 0xFF;
+        int g = (color >> 8) & 0xFF;
+        int b = color & 0xFF;
+        componentSums[0] += r * weight;
+        componentSums[1] += g * weight;
+        componentSums[2] += b * weight;
+        return Math.max(r, Math.max(g, b)) * weight;
     }
 }
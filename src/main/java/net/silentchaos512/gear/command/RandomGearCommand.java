@@ -22,6 +22,7 @@ import net.silentchaos512.lib.util.NameUtils;
 import net.silentchaos512.lib.util.PlayerUtils;
 
 import java.util.Collection;
+import java.util.Iterator;
 
 public final class RandomGearCommand {
     private static final SuggestionProvider<CommandSourceStack> itemIdSuggestions = (context, builder) ->
@@ -61,12 +62,13 @@ public final class RandomGearCommand {
             return 0;
         }
 
+        Iterator<ItemStack> stacks = GearGenerator.createAll((ICoreItem) item, tier, players.size()).iterator();
         for (ServerPlayer player : players) {
-            ItemStack stack = GearGenerator.create((ICoreItem) item, tier);
-            if (!stack.isEmpty()) {
-                context.getSource().sendSuccess(() -> Component.translatable("commands.give.success.single", 1, stack.getDisplayName(), player.getDisplayName()), true);
-                PlayerUtils.giveItem(player, stack.copy());
-            }
+            if (!stacks.hasNext()) break;
+
+            ItemStack stack = stacks.next();
+            context.getSource().sendSuccess(() -> Component.translatable("commands.give.success.single", 1, stack.getDisplayName(), player.getDisplayName()), true);
+            PlayerUtils.giveItem(player, stack.copy());
         }
 
         return 1;
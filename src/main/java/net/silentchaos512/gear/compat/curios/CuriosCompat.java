@@ -2,6 +2,7 @@ package net.silentchaos512.gear.compat.curios;
 
 import com.google.common.collect.Multimap;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.entity.ai.attributes.Attribute;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.item.ItemStack;
@@ -14,12 +15,15 @@ import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.item.gear.GearElytraItem;
 import net.silentchaos512.gear.api.util.DataResource;
+import net.silentchaos512.gear.util.EquippedTraitState;
 import net.silentchaos512.gear.util.TraitHelper;
 import top.theillusivec4.curios.api.CuriosApi;
 import top.theillusivec4.curios.api.SlotTypePreset;
+import top.theillusivec4.curios.api.event.CurioChangeEvent;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Consumer;
 
 public final class CuriosCompat {
@@ -43,6 +47,12 @@ public final class CuriosCompat {
         return CurioGearItemCapability.createElytraProvider(stack, item);
     }
 
+    public static void onCurioChange(CurioChangeEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            EquippedTraitState.markDirty(player);
+        }
+    }
+
     public static int getHighestTraitLevel(LivingEntity entity, DataResource<ITrait> trait) {
         LazyOptional<IItemHandlerModifiable> lazy = CuriosApi.getCuriosHelper().getEquippedCurios(entity);
         int max = 0;
@@ -60,6 +70,34 @@ public final class CuriosCompat {
         return max;
     }
 
+    /**
+     * Checks if the entity's gear curios are exactly the given stack instances, in order. Nothing
+     * is copied or compared by NBT, so this is cheap enough to call every tick.
+     *
+     * @param entity The entity
+     * @param last   Stacks from a previous call to {@link #getEquippedCurios(LivingEntity)}
+     * @return True if no gear curio was added, removed, or replaced
+     */
+    public static boolean isSameEquippedCurios(LivingEntity entity, List<ItemStack> last) {
+        LazyOptional<IItemHandlerModifiable> lazy = CuriosApi.getCuriosHelper().getEquippedCurios(entity);
+        int count = 0;
+
+        if (lazy.isPresent()) {
+            IItemHandlerModifiable handler = lazy.orElseThrow(IllegalStateException::new);
+            for (int i = 0; i < handler.getSlots(); ++i) {
+                ItemStack stack = handler.getStackInSlot(i);
+                if (stack.getItem() instanceof ICoreItem) {
+                    if (count >= last.size() || last.get(count) != stack) {
+                        return false;
+                    }
+                    ++count;
+                }
+            }
+        }
+
+        return count == last.size();
+    }
+
     public static Collection<ItemStack> getEquippedCurios(LivingEntity entity) {
         LazyOptional<IItemHandlerModifiable> lazy = CuriosApi.getCuriosHelper().getEquippedCurios(entity);
         Collection<ItemStack> ret = new ArrayList<>();
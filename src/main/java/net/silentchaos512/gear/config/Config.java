@@ -43,6 +43,8 @@ public final class Config {
         public static final ForgeConfigSpec.BooleanValue sendGearBrokenMessage;
         public static final ForgeConfigSpec.EnumValue<IAoeTool.MatchMode> matchModeStandard;
         public static final ForgeConfigSpec.EnumValue<IAoeTool.MatchMode> matchModeOres;
+        public static final ForgeConfigSpec.IntValue blockWorkPerPlayerPerTick;
+        public static final ForgeConfigSpec.IntValue blockWorkPerTick;
         public static final ForgeConfigSpec.IntValue damageFactorLevels;
         public static final ForgeConfigSpec.BooleanValue gearBreaksPermanently;
         public static final ForgeConfigSpec.ConfigValue<Tiers> dummyToolTier;
@@ -64,6 +66,7 @@ public final class Config {
         public static final ForgeConfigSpec.DoubleValue repairKitAzureEfficiency;
         public static final ForgeConfigSpec.DoubleValue missingRepairKitEfficiency;
         public static final ForgeConfigSpec.IntValue sawRecursionDepth;
+        public static final ForgeConfigSpec.IntValue sawMaxBlocks;
         public static final ForgeConfigSpec.BooleanValue upgradesInAnvilOnly;
         public static final ForgeConfigSpec.BooleanValue destroySwappedParts;
         private static final Map<ItemStat, ForgeConfigSpec.DoubleValue> statMultipliers = new HashMap<>();
@@ -75,6 +78,8 @@ public final class Config {
         // Starlight Charger
         public static final ForgeConfigSpec.IntValue starlightChargerChargeRate;
         public static final ForgeConfigSpec.IntValue starlightChargerMaxCharge;
+        // Network
+        public static final ForgeConfigSpec.BooleanValue compressLoginSync;
         // Debug
         public static final ForgeConfigSpec.BooleanValue extraPartAndTraitLogging;
         public static final ForgeConfigSpec.BooleanValue statsDebugLogging;
@@ -236,15 +241,19 @@ public final class Config {
                     builder.push("prospector_hammer");
                     prospectorHammerRange = builder
                             .comment("The range in blocks the prospector hammer will search for blocks of interest")
-                            .defineInRange("range", 16, 0, 64);
+                            .defineInRange("range", 16, 0, 256);
                     builder.pop();
                 }
                 {
                     builder.push("saw");
                     sawRecursionDepth = builder
-                            .comment("Caps how far the saw can look for blocks when chopping down trees. Try decreasing this if you get stack overflow exceptions.",
+                            .comment("Caps how far the saw can look for blocks when chopping down trees, in steps from the chopped block.",
                                     "Increasing this value is allowed, but not recommended unless you know what you are doing.")
                             .defineInRange("recursionDepth", 200, 0, Integer.MAX_VALUE);
+                    sawMaxBlocks = builder
+                            .comment("The most blocks (logs and leaves) the saw will break when chopping down a single tree.",
+                                    "Large trees are broken over several ticks, see the aoeTool.blocksPerTick settings.")
+                            .defineInRange("maxBlocks", 2048, 1, Integer.MAX_VALUE);
                     builder.pop();
                 }
                 {
@@ -260,6 +269,13 @@ public final class Config {
                     matchModeOres = builder
                             .comment("Match mode for ore blocks (anything in the forge:ores block tag)")
                             .defineEnum("matchMode.ores", IAoeTool.MatchMode.STRICT);
+                    blockWorkPerPlayerPerTick = builder
+                            .comment("The number of blocks a single player's AOE tools, saws and block filler traits may affect each tick.",
+                                    "Larger operations are finished over the following ticks. Lower this if large AOE tools cause lag spikes.")
+                            .defineInRange("blocksPerTick.perPlayer", 128, 1, Integer.MAX_VALUE);
+                    blockWorkPerTick = builder
+                            .comment("The number of blocks AOE tools, saws and block filler traits may affect each tick, for all players combined.")
+                            .defineInRange("blocksPerTick.total", 512, 1, Integer.MAX_VALUE);
                     builder.pop();
                 }
                 {
@@ -344,6 +360,11 @@ public final class Config {
                 builder.pop();
             }
 
+            compressLoginSync = builder
+                    .comment("Compress the materials, parts, and traits sent to players when they log in.",
+                            "This greatly reduces the amount of data sent with large modpacks, at the cost of a little CPU time.")
+                    .define("network.compressLoginSync", true);
+
             extraPartAndTraitLogging = builder
                     .comment("Log additional information related to loading and synchronizing gear parts and traits.",
                             "This might help track down more obscure issues.")
@@ -2,14 +2,15 @@ package net.silentchaos512.gear.gear.material;
 
 import net.silentchaos512.gear.api.material.IMaterialCategory;
 
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public enum MaterialCategories implements IMaterialCategory {
     METAL, GEM, ROCK, DUST, CLOTH, FIBER, WOOD, ORGANIC, SLIME, SHEET, INTANGIBLE;
 
-    private static final Map<String, IMaterialCategory> CACHE = new HashMap<>();
+    // Materials are deserialized in parallel, so this must be thread-safe
+    private static final Map<String, IMaterialCategory> CACHE = new ConcurrentHashMap<>();
 
     @Override
     public String getName() {
@@ -37,9 +37,10 @@ import net.silentchaos512.utils.Color;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MaterialInstance implements IMaterialInstance {
-    private static final Map<ResourceLocation, MaterialInstance> QUICK_CACHE = new HashMap<>();
+    private static final Map<ResourceLocation, MaterialInstance> QUICK_CACHE = new ConcurrentHashMap<>();
 
     private final IMaterial material;
     @Deprecated private final MaterialGrade grade;
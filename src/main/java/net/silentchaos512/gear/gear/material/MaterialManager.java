@@ -1,7 +1,6 @@
 package net.silentchaos512.gear.gear.material;
 
 import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import com.google.gson.*;
 import net.minecraft.ChatFormatting;
@@ -9,91 +8,105 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
 import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
-import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.material.IMaterial;
+import net.silentchaos512.gear.api.material.IMaterialCategory;
+import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.gear.GearJsonException;
 import net.silentchaos512.gear.gear.MaterialJsonException;
 import net.silentchaos512.gear.network.SyncMaterialsPacket;
+import net.silentchaos512.gear.util.ComponentItemFilter;
+import net.silentchaos512.gear.util.GearGenerator;
+import net.silentchaos512.gear.util.GearStatMemo;
+import net.silentchaos512.gear.util.GearView;
+import net.silentchaos512.gear.util.IngredientIndex;
+import net.silentchaos512.gear.util.ParallelJsonLoader;
 import net.silentchaos512.gear.util.TextUtil;
-import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("deprecation")
-public class MaterialManager implements ResourceManagerReloadListener {
+public class MaterialManager implements PreparableReloadListener {
     public static final MaterialManager INSTANCE = new MaterialManager();
 
     private static final Gson GSON = (new GsonBuilder()).disableHtmlEscaping().create();
     public static final Marker MARKER = MarkerManager.getMarker("MaterialManager");
 
     private static final String DATA_PATH = "silentgear_materials";
-    private static final Map<ResourceLocation, IMaterial> MATERIALS = Collections.synchronizedMap(new LinkedHashMap<>());
+    // Replaced as a whole when materials are reloaded or synced, so readers never need to lock
+    private static volatile MaterialSnapshot MATERIALS = MaterialSnapshot.EMPTY;
     private static final Collection<String> ERROR_LIST = new ArrayList<>();
     private static final Collection<String> INGREDIENT_CONFLICT_LIST = new ArrayList<>();
+    private static final IngredientIndex<IMaterial> INGREDIENT_INDEX = new IngredientIndex<>(MaterialManager::getValues, IMaterial::getIngredient);
 
     @Override
-    public void onResourceManagerReload(ResourceManager resourceManager) {
-        Map<ResourceLocation, Resource> resources = resourceManager.listResources(DATA_PATH, s -> s.toString().endsWith(".json"));
-        if (resources.isEmpty()) return;
+    public CompletableFuture<Void> reload(PreparationBarrier barrier, ResourceManager resourceManager, ProfilerFiller preparationsProfiler, ProfilerFiller reloadProfiler, Executor backgroundExecutor, Executor gameExecutor) {
+        return ParallelJsonLoader.readAll(resourceManager, DATA_PATH, GSON, backgroundExecutor)
+                .thenCompose(barrier::wait)
+                .thenAcceptAsync(files -> apply(files, backgroundExecutor), gameExecutor);
+    }
+
+    private static void apply(List<ParallelJsonLoader.JsonFile> files, Executor backgroundExecutor) {
+        if (files.isEmpty()) return;
+
+        SilentGear.LOGGER.info(MARKER, "Reloading material files");
+        // Materials can have traits, so they are deserialized after traits are applied (still in parallel)
+        List<ParallelJsonLoader.Result<IMaterial>> results = ParallelJsonLoader.join(ParallelJsonLoader.deserializeAll(files,
+                file -> tryDeserialize(file.id(), file.packName(), file.json()), backgroundExecutor));
 
         Multimap<String, IMaterial> ingredientConflicts = HashMultimap.create();
         Collection<ResourceLocation> skippedList = new ArrayList<>();
+        ERROR_LIST.clear();
+        Map<ResourceLocation, IMaterial> map = new LinkedHashMap<>();
+
+        for (ParallelJsonLoader.Result<IMaterial> result : results) {
+            ParallelJsonLoader.JsonFile file = result.file();
+            if (file.error() != null) {
+                SilentGear.LOGGER.error(MARKER, "Could not read material {}", file.id(), file.error());
+                ERROR_LIST.add(String.format("%s (%s)", file.id(), file.packName()));
+            }
 
-        synchronized (MATERIALS) {
-            MATERIALS.clear();
-            ERROR_LIST.clear();
-            SilentGear.LOGGER.info(MARKER, "Reloading material files");
-
-            String packName = "ERROR";
-            for (ResourceLocation id : resources.keySet()) {
-                String path = id.getPath().substring(DATA_PATH.length() + 1, id.getPath().length() - ".json".length());
-                ResourceLocation name = new ResourceLocation(id.getNamespace(), path);
-
-                Optional<Resource> resourceOptional = resourceManager.getResource(id);
-                if (resourceOptional.isPresent()) {
-                    Resource iresource = resourceOptional.get();
-                    packName = iresource.sourcePackId();
-                    JsonObject json = null;
-                    try {
-                        json = GsonHelper.fromJson(GSON, IOUtils.toString(iresource.open(), StandardCharsets.UTF_8), JsonObject.class);
-                    } catch (IOException ex) {
-                        SilentGear.LOGGER.error(MARKER, "Could not read material {}", name, ex);
-                        ERROR_LIST.add(String.format("%s (%s)", name, packName));
-                    }
-
-                    if (json == null) {
-                        // Something is very wrong or the JSON is somehow empty
-                        SilentGear.LOGGER.error(MARKER, "Could not load material {} as it's null or empty", name);
-                    } else {
-                        // Attempt to deserialize the material
-                        IMaterial material = tryDeserialize(name, packName, json);
-                        MATERIALS.put(material.getId(), material);
-                        addIngredientChecks(ingredientConflicts, material, json);
-                    }
-                }
+            IMaterial material = result.value();
+            if (material == null) {
+                // Something is very wrong or the JSON is somehow empty
+                SilentGear.LOGGER.error(MARKER, "Could not load material {} as it's null or empty", file.id());
+            } else {
+                map.put(material.getId(), material);
+                addIngredientChecks(ingredientConflicts, material, file.json());
             }
         }
 
+        MATERIALS = new MaterialSnapshot(map);
+        SilentGear.LOGGER.info(MARKER, "Registered {} materials", map.size());
         checkForIngredientConflicts(ingredientConflicts);
         logSkippedMaterials(skippedList);
+        onMaterialsChanged();
+    }
+
+    private static void onMaterialsChanged() {
+        INGREDIENT_INDEX.invalidate();
+        ComponentItemFilter.invalidate();
+        GearView.invalidateAll();
+        GearStatMemo.invalidateAll();
+        GearGenerator.invalidate();
+        SyncMaterialsPacket.invalidateCache();
     }
 
     private static IMaterial tryDeserialize(ResourceLocation name, String packName, JsonObject json) {
-        SilentGear.LOGGER.info("Deserializing material {} in pack {}", name, packName);
+        SilentGear.LOGGER.debug(MARKER, "Deserializing material {} in pack {}", name, packName);
         try {
             return MaterialSerializers.deserialize(name, packName, json);
         } catch (JsonSyntaxException ex) {
@@ -135,62 +148,85 @@ public class MaterialManager implements ResourceManagerReloadListener {
         return getValues(true);
     }
 
+    /**
+     * Gets all loaded materials. The list is shared and cannot be modified.
+     *
+     * @param includeChildren If false, only materials without a parent are included
+     * @return List of materials
+     */
     public static List<IMaterial> getValues(boolean includeChildren) {
-        synchronized (MATERIALS) {
-            List<IMaterial> list = new ArrayList<>();
-            for (IMaterial m : MATERIALS.values()) {
-                if (includeChildren || m.getParent() == null) {
-                    list.add(m);
-                }
-            }
-            return list;
-        }
+        return includeChildren ? MATERIALS.getAll() : MATERIALS.getRoots();
+    }
+
+    /**
+     * Gets all loaded materials in the category. The list is shared and cannot be modified.
+     *
+     * @param category The material category
+     * @return List of materials, including children
+     */
+    public static List<IMaterial> getValues(IMaterialCategory category) {
+        return MATERIALS.getInCategory(category);
+    }
+
+    /**
+     * Gets all loaded materials of a tier for the part type. The list is shared and cannot be
+     * modified.
+     *
+     * @param partType        The part type the tier is for
+     * @param tier            The tier
+     * @param includeChildren If false, only materials without a parent are included
+     * @return List of materials
+     */
+    public static List<IMaterial> getValues(PartType partType, int tier, boolean includeChildren) {
+        return MATERIALS.getOfTier(partType, tier, includeChildren);
     }
 
+    /**
+     * Gets the child materials of the material. The list is shared and cannot be modified.
+     *
+     * @param material The parent material
+     * @return List of child materials
+     */
     public static List<IMaterial> getChildren(IMaterial material) {
-        synchronized (MATERIALS) {
-            List<IMaterial> list = new ArrayList<>();
-            for (IMaterial m : MATERIALS.values()) {
-                if (m.getParent() == material) {
-                    list.add(m);
-                }
-            }
-            return list;
-        }
+        return MATERIALS.getChildren(material.getId());
     }
 
     @Nullable
     public static IMaterial get(@Nullable ResourceLocation id) {
         if (id == null) return null;
-
-        synchronized (MATERIALS) {
-            return MATERIALS.get(id);
-        }
+        return MATERIALS.get(id);
     }
 
     @Nullable
     public static IMaterial from(ItemStack stack) {
-        if (stack.isEmpty()) return null;
-
-        for (IMaterial material : getValues()) {
-            if (material.getIngredient().test(stack)) {
-                return material;
-            }
-        }
+        return INGREDIENT_INDEX.get(stack);
+    }
 
-        return null;
+    /**
+     * Discards the item-to-material index used by {@link #from(ItemStack)}. Must be called if any
+     * material ingredients change or tags are reloaded.
+     */
+    public static void invalidateIngredientIndex() {
+        INGREDIENT_INDEX.invalidate();
+        ComponentItemFilter.invalidate();
     }
 
     public static void handleSyncPacket(SyncMaterialsPacket msg, Supplier<NetworkEvent.Context> ctx) {
-        synchronized (MATERIALS) {
-            Map<ResourceLocation, IMaterial> oldMaterials = ImmutableMap.copyOf(MATERIALS);
-            MATERIALS.clear();
-            for (IMaterial mat : msg.getMaterials()) {
-                mat.retainData(oldMaterials.get(mat.getId()));
-                MATERIALS.put(mat.getId(), mat);
-            }
-            SilentGear.LOGGER.info("Read {} materials from server", MATERIALS.size());
+        if (msg.isSkipped()) {
+            SilentGear.LOGGER.info("Using materials from the integrated server");
+            ctx.get().setPacketHandled(true);
+            return;
+        }
+
+        MaterialSnapshot oldMaterials = MATERIALS;
+        Map<ResourceLocation, IMaterial> map = new LinkedHashMap<>();
+        for (IMaterial mat : msg.getMaterials()) {
+            mat.retainData(oldMaterials.get(mat.getId()));
+            map.put(mat.getId(), mat);
         }
+        MATERIALS = new MaterialSnapshot(map);
+        SilentGear.LOGGER.info("Read {} materials from server", map.size());
+        onMaterialsChanged();
         ctx.get().setPacketHandled(true);
     }
 
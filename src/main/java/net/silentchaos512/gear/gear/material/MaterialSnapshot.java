@@ -0,0 +1,121 @@
+package net.silentchaos512.gear.gear.material;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.resources.ResourceLocation;
+import net.silentchaos512.gear.api.material.IMaterial;
+import net.silentchaos512.gear.api.material.IMaterialCategory;
+import net.silentchaos512.gear.api.part.PartType;
+
+import javax.annotation.Nullable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * All loaded materials, with precomputed views. A new snapshot is created whenever materials are
+ * reloaded or synced, and is never modified, so it can be read from any thread without locking.
+ * The lists returned are shared and cannot be modified.
+ * <p>
+ * Parents are resolved through {@link MaterialManager#get}, so the views which depend on them
+ * (roots, children, categories, and tiers) are built on first use, once the snapshot has been
+ * published.
+ */
+final class MaterialSnapshot {
+    static final MaterialSnapshot EMPTY = new MaterialSnapshot(ImmutableMap.of());
+
+    private final ImmutableMap<ResourceLocation, IMaterial> byId;
+    private final ImmutableList<IMaterial> all;
+    private final Supplier<Views> views = Suppliers.memoize(this::buildViews);
+    private final Map<PartType, Tiers> tiers = new ConcurrentHashMap<>();
+
+    MaterialSnapshot(Map<ResourceLocation, IMaterial> materials) {
+        this.byId = ImmutableMap.copyOf(materials);
+        this.all = this.byId.values().asList();
+    }
+
+    @Nullable
+    IMaterial get(ResourceLocation id) {
+        return byId.get(id);
+    }
+
+    List<IMaterial> getAll() {
+        return all;
+    }
+
+    List<IMaterial> getRoots() {
+        return views.get().roots;
+    }
+
+    List<IMaterial> getChildren(ResourceLocation parentId) {
+        return views.get().children.get(parentId);
+    }
+
+    List<IMaterial> getInCategory(IMaterialCategory category) {
+        return views.get().categories.get(categoryKey(category));
+    }
+
+    List<IMaterial> getOfTier(PartType partType, int tier, boolean includeChildren) {
+        Tiers ret = tiers.computeIfAbsent(partType, this::buildTiers);
+        return includeChildren ? ret.all.get(tier) : ret.roots.get(tier);
+    }
+
+    private Views buildViews() {
+        ImmutableList.Builder<IMaterial> roots = ImmutableList.builder();
+        ImmutableListMultimap.Builder<ResourceLocation, IMaterial> children = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<String, IMaterial> categories = ImmutableListMultimap.builder();
+
+        for (IMaterial material : all) {
+            IMaterial parent = material.getParent();
+            if (parent == null) {
+                roots.add(material);
+            } else {
+                children.put(parent.getId(), material);
+            }
+
+            // A material may list a category more than once
+            Set<String> added = new HashSet<>();
+            for (IMaterialCategory category : material.getCategories()) {
+                String key = categoryKey(category);
+                if (added.add(key)) {
+                    categories.put(key, material);
+                }
+            }
+        }
+
+        return new Views(roots.build(), children.build(), categories.build());
+    }
+
+    private Tiers buildTiers(PartType partType) {
+        ImmutableListMultimap.Builder<Integer, IMaterial> all = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<Integer, IMaterial> roots = ImmutableListMultimap.builder();
+
+        for (IMaterial material : this.all) {
+            int tier = MaterialInstance.of(material).getTier(partType);
+            all.put(tier, material);
+            if (material.getParent() == null) {
+                roots.put(tier, material);
+            }
+        }
+
+        return new Tiers(all.build(), roots.build());
+    }
+
+    private static String categoryKey(IMaterialCategory category) {
+        // Categories match by name, ignoring case
+        return category.getName().toLowerCase(Locale.ROOT);
+    }
+
+    private record Views(ImmutableList<IMaterial> roots,
+                         ImmutableListMultimap<ResourceLocation, IMaterial> children,
+                         ImmutableListMultimap<String, IMaterial> categories) {}
+
+    private record Tiers(ImmutableListMultimap<Integer, IMaterial> all,
+                         ImmutableListMultimap<Integer, IMaterial> roots) {}
+}
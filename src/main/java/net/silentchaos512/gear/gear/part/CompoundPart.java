@@ -28,6 +28,7 @@ import net.silentchaos512.gear.client.util.ColorUtils;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.item.CompoundPartItem;
+import net.silentchaos512.gear.util.GearGenerator;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.gear.util.SynergyUtils;
 import net.silentchaos512.gear.util.TierHelper;
@@ -246,12 +247,7 @@ public class CompoundPart extends AbstractGearPart {
 
     private List<MaterialInstance> getRandomMaterials(GearType gearType, int count, int tier) {
         // Excludes children, will select a random child material (if appropriate) below
-        List<IMaterial> matsOfTier = MaterialManager.getValues(tier == 0).stream()
-                .map(MaterialInstance::of)
-                .filter(m -> tier < 0 || tier == m.getTier(this.partType))
-                .filter(m -> m.allowedInPart(this.partType) && m.isCraftingAllowed(this.partType, gearType))
-                .map(MaterialInstance::get)
-                .collect(Collectors.toList());
+        List<IMaterial> matsOfTier = GearGenerator.getRandomMaterialCandidates(gearType, this.partType, tier);
 
         if (!matsOfTier.isEmpty()) {
             List<MaterialInstance> ret = new ArrayList<>();
@@ -23,9 +23,11 @@ import net.silentchaos512.lib.util.InventoryUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class PartData implements IPartData {
-    private static final Map<ResourceLocation, PartData> CACHE_UNGRADED_PARTS = new HashMap<>();
+    // Accessed from the server, render, and network threads
+    private static final Map<ResourceLocation, PartData> CACHE_UNGRADED_PARTS = new ConcurrentHashMap<>();
     public static final String NBT_ID = "ID";
 
     private final IGearPart part;
@@ -45,8 +47,9 @@ public final class PartData implements IPartData {
 
     public static PartData of(IGearPart part) {
         ResourceLocation name = part.getId();
-        if (CACHE_UNGRADED_PARTS.containsKey(name)) {
-            return CACHE_UNGRADED_PARTS.get(name);
+        PartData cached = CACHE_UNGRADED_PARTS.get(name);
+        if (cached != null && cached.part == part) {
+            return cached;
         }
 
         PartData inst = new PartData(part);
@@ -54,6 +57,13 @@ public final class PartData implements IPartData {
         return inst;
     }
 
+    /**
+     * Clears cached part data. Called when parts are reloaded.
+     */
+    public static void clearCache() {
+        CACHE_UNGRADED_PARTS.clear();
+    }
+
     public static PartData of(IGearPart part, ItemStack craftingItem) {
         return new PartData(part, craftingItem);
     }
@@ -1,7 +1,6 @@
 package net.silentchaos512.gear.gear.part;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
@@ -10,10 +9,9 @@ import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
 import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
-import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
@@ -21,28 +19,35 @@ import net.silentchaos512.gear.api.part.IGearPart;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.gear.PartJsonException;
 import net.silentchaos512.gear.network.SyncGearPartsPacket;
-import org.apache.commons.io.IOUtils;
+import net.silentchaos512.gear.util.ComponentItemFilter;
+import net.silentchaos512.gear.util.GearGenerator;
+import net.silentchaos512.gear.util.GearStatMemo;
+import net.silentchaos512.gear.util.GearView;
+import net.silentchaos512.gear.util.IngredientIndex;
+import net.silentchaos512.gear.util.ParallelJsonLoader;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 @SuppressWarnings("deprecation")
-public final class PartManager implements ResourceManagerReloadListener {
+public final class PartManager implements PreparableReloadListener {
     public static final PartManager INSTANCE = new PartManager();
 
     public static final Marker MARKER = MarkerManager.getMarker("PartManager");
 
     private static final String DATA_PATH = "silentgear_parts";
-    private static final Map<ResourceLocation, IGearPart> MAP = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static final Gson GSON = (new GsonBuilder()).setPrettyPrinting().disableHtmlEscaping().create();
+    // Replaced as a whole when parts are reloaded or synced, so readers never need to lock
+    private static volatile PartSnapshot MAP = PartSnapshot.EMPTY;
     private static int highestMainPartTier = 0;
     private static final Collection<String> ERROR_LIST = new ArrayList<>();
+    private static final IngredientIndex<IGearPart> INGREDIENT_INDEX = new IngredientIndex<>(PartManager::getValues, IGearPart::getIngredient);
 
     private PartManager() {}
 
@@ -51,57 +56,60 @@ public final class PartManager implements ResourceManagerReloadListener {
     }
 
     @Override
-    public void onResourceManagerReload(ResourceManager resourceManager) {
-        Gson gson = (new GsonBuilder()).setPrettyPrinting().disableHtmlEscaping().create();
-        Map<ResourceLocation, Resource> resources = resourceManager.listResources(DATA_PATH, s -> s.toString().endsWith(".json"));
-        if (resources.isEmpty()) return;
-
-        synchronized (MAP) {
-            MAP.clear();
-            ERROR_LIST.clear();
-            SilentGear.LOGGER.info(MARKER, "Reloading part files");
-
-            String packName = "ERROR";
-            for (ResourceLocation id : resources.keySet()) {
-                String path = id.getPath().substring(DATA_PATH.length() + 1, id.getPath().length() - ".json".length());
-                ResourceLocation name = new ResourceLocation(id.getNamespace(), path);
-
-                Optional<Resource> resourceOptional = resourceManager.getResource(id);
-                if (resourceOptional.isPresent()) {
-                    Resource iresource = resourceOptional.get();
-                    packName = iresource.sourcePackId();
-                    if (SilentGear.LOGGER.isTraceEnabled()) {
-                        SilentGear.LOGGER.trace(MARKER, "Found likely part file: {}, trying to read as part {}", id, name);
-                    }
-
-                    JsonObject json = null;
-                    try {
-                        json = GsonHelper.fromJson(gson, IOUtils.toString(iresource.open(), StandardCharsets.UTF_8), JsonObject.class);
-                    } catch (IOException ex) {
-                        SilentGear.LOGGER.error(MARKER, "Could not read gear part {}", name, ex);
-                        ERROR_LIST.add(String.format("%s (%s)", name, packName));
-                    }
-
-                    if (json == null) {
-                        SilentGear.LOGGER.error(MARKER, "Could not load part {} as it's null or empty", name);
-                    } else {
-                        IGearPart part = tryDeserialize(name, packName, json);
-                        if (part instanceof AbstractGearPart) {
-                            ((AbstractGearPart) part).packName = iresource.sourcePackId();
-                        }
-                        addPart(part);
-                        highestMainPartTier = Math.max(highestMainPartTier, part.getTier());
-                    }
-                }
+    public CompletableFuture<Void> reload(PreparationBarrier barrier, ResourceManager resourceManager, ProfilerFiller preparationsProfiler, ProfilerFiller reloadProfiler, Executor backgroundExecutor, Executor gameExecutor) {
+        return ParallelJsonLoader.readAll(resourceManager, DATA_PATH, GSON, backgroundExecutor)
+                .thenCompose(barrier::wait)
+                .thenAcceptAsync(files -> apply(files, backgroundExecutor), gameExecutor);
+    }
+
+    private static void apply(List<ParallelJsonLoader.JsonFile> files, Executor backgroundExecutor) {
+        if (files.isEmpty()) return;
+
+        SilentGear.LOGGER.info(MARKER, "Reloading part files");
+        // Parts can have traits, so they are deserialized after traits are applied (still in parallel)
+        List<ParallelJsonLoader.Result<IGearPart>> results = ParallelJsonLoader.join(ParallelJsonLoader.deserializeAll(files,
+                file -> tryDeserialize(file.id(), file.packName(), file.json()), backgroundExecutor));
+
+        ERROR_LIST.clear();
+        Map<ResourceLocation, IGearPart> map = new LinkedHashMap<>();
+
+        for (ParallelJsonLoader.Result<IGearPart> result : results) {
+            ParallelJsonLoader.JsonFile file = result.file();
+            if (file.error() != null) {
+                SilentGear.LOGGER.error(MARKER, "Could not read gear part {}", file.id(), file.error());
+                ERROR_LIST.add(String.format("%s (%s)", file.id(), file.packName()));
             }
 
-            SilentGear.LOGGER.info(MARKER, "Registered {} parts", MAP.size());
+            IGearPart part = result.value();
+            if (part == null) {
+                SilentGear.LOGGER.error(MARKER, "Could not load part {} as it's null or empty", file.id());
+            } else {
+                if (part instanceof AbstractGearPart) {
+                    ((AbstractGearPart) part).packName = file.packName();
+                }
+                addPart(map, part);
+                highestMainPartTier = Math.max(highestMainPartTier, part.getTier());
+            }
         }
+
+        MAP = new PartSnapshot(map);
+        SilentGear.LOGGER.info(MARKER, "Registered {} parts", map.size());
+        onPartsChanged();
+    }
+
+    private static void onPartsChanged() {
+        INGREDIENT_INDEX.invalidate();
+        ComponentItemFilter.invalidate();
+        GearView.invalidateAll();
+        GearStatMemo.invalidateAll();
+        GearGenerator.invalidate();
+        SyncGearPartsPacket.invalidateCache();
+        PartData.clearCache();
     }
 
     @NotNull
     private static IGearPart tryDeserialize(ResourceLocation name, String packName, JsonObject json) {
-        SilentGear.LOGGER.info("Deserializing part {} in pack {}", name, packName);
+        SilentGear.LOGGER.debug(MARKER, "Deserializing part {} in pack {}", name, packName);
         try {
             return PartSerializers.deserialize(name, json);
         } catch (JsonSyntaxException ex) {
@@ -109,24 +117,36 @@ public final class PartManager implements ResourceManagerReloadListener {
         }
     }
 
-    private static void addPart(IGearPart part) {
-        if (MAP.containsKey(part.getId())) {
+    private static void addPart(Map<ResourceLocation, IGearPart> map, IGearPart part) {
+        if (map.containsKey(part.getId())) {
             throw new IllegalStateException("Duplicate gear part " + part.getId());
         } else {
-            MAP.put(part.getId(), part);
+            map.put(part.getId(), part);
         }
     }
 
     public static Collection<IGearPart> getValues() {
-        synchronized (MAP) {
-            return MAP.values();
-        }
+        return MAP.getAll();
     }
 
+    /**
+     * Gets all loaded parts of the type. The list is shared and cannot be modified.
+     *
+     * @param type The part type
+     * @return List of parts
+     */
     public static List<IGearPart> getPartsOfType(PartType type) {
-        return getValues().stream()
-                .filter(part -> part.getType() == type)
-                .collect(Collectors.toList());
+        return MAP.getOfType(type);
+    }
+
+    /**
+     * Gets all loaded parts of the tier, of any type. The list is shared and cannot be modified.
+     *
+     * @param tier The part tier
+     * @return List of parts
+     */
+    public static List<IGearPart> getPartsOfTier(int tier) {
+        return MAP.getOfTier(tier);
     }
 
     @Deprecated
@@ -141,9 +161,7 @@ public final class PartManager implements ResourceManagerReloadListener {
 
     @Nullable
     public static IGearPart get(ResourceLocation id) {
-        synchronized (MAP) {
-            return MAP.get(id);
-        }
+        return MAP.get(id);
     }
 
     @Nullable
@@ -154,28 +172,35 @@ public final class PartManager implements ResourceManagerReloadListener {
 
     @Nullable
     public static IGearPart from(ItemStack stack) {
-        if (stack.isEmpty()) return null;
-
-        // We can't reliable keep an IItemProvider -> IGearPart map anymore
-        for (IGearPart part : getValues()) {
-            if (part.getIngredient().test(stack)) {
-                return part;
-            }
-        }
+        return INGREDIENT_INDEX.get(stack);
+    }
 
-        return null;
+    /**
+     * Discards the item-to-part index used by {@link #from(ItemStack)}. Must be called if any part
+     * ingredients change or tags are reloaded.
+     */
+    public static void invalidateIngredientIndex() {
+        INGREDIENT_INDEX.invalidate();
+        ComponentItemFilter.invalidate();
+        GearGenerator.invalidate();
     }
 
     public static void handlePartSyncPacket(SyncGearPartsPacket packet, Supplier<NetworkEvent.Context> context) {
-        synchronized (MAP) {
-            Map<ResourceLocation, IGearPart> oldParts = ImmutableMap.copyOf(MAP);
-            MAP.clear();
-            for (IGearPart part : packet.getParts()) {
-                part.retainData(oldParts.get(part.getId()));
-                MAP.put(part.getId(), part);
-            }
-            SilentGear.LOGGER.info("Read {} parts from server", MAP.size());
+        if (packet.isSkipped()) {
+            SilentGear.LOGGER.info("Using parts from the integrated server");
+            context.get().setPacketHandled(true);
+            return;
+        }
+
+        PartSnapshot oldParts = MAP;
+        Map<ResourceLocation, IGearPart> map = new LinkedHashMap<>();
+        for (IGearPart part : packet.getParts()) {
+            part.retainData(oldParts.get(part.getId()));
+            map.put(part.getId(), part);
         }
+        MAP = new PartSnapshot(map);
+        SilentGear.LOGGER.info("Read {} parts from server", map.size());
+        onPartsChanged();
         context.get().setPacketHandled(true);
     }
 
@@ -0,0 +1,57 @@
+package net.silentchaos512.gear.gear.part;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.resources.ResourceLocation;
+import net.silentchaos512.gear.api.part.IGearPart;
+import net.silentchaos512.gear.api.part.PartType;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All loaded parts, with precomputed views by part type and tier. A new snapshot is created
+ * whenever parts are reloaded or synced, and is never modified, so it can be read from any thread
+ * without locking. The lists returned are shared and cannot be modified.
+ */
+final class PartSnapshot {
+    static final PartSnapshot EMPTY = new PartSnapshot(ImmutableMap.of());
+
+    private final ImmutableMap<ResourceLocation, IGearPart> byId;
+    private final ImmutableList<IGearPart> all;
+    private final ImmutableListMultimap<PartType, IGearPart> byType;
+    private final ImmutableListMultimap<Integer, IGearPart> byTier;
+
+    PartSnapshot(Map<ResourceLocation, IGearPart> parts) {
+        this.byId = ImmutableMap.copyOf(parts);
+        this.all = this.byId.values().asList();
+
+        ImmutableListMultimap.Builder<PartType, IGearPart> byType = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<Integer, IGearPart> byTier = ImmutableListMultimap.builder();
+        for (IGearPart part : this.all) {
+            byType.put(part.getType(), part);
+            byTier.put(part.getTier(), part);
+        }
+        this.byType = byType.build();
+        this.byTier = byTier.build();
+    }
+
+    @Nullable
+    IGearPart get(ResourceLocation id) {
+        return byId.get(id);
+    }
+
+    List<IGearPart> getAll() {
+        return all;
+    }
+
+    List<IGearPart> getOfType(PartType type) {
+        return byType.get(type);
+    }
+
+    List<IGearPart> getOfTier(int tier) {
+        return byTier.get(tier);
+    }
+}
@@ -5,6 +5,8 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -22,11 +24,15 @@ import net.minecraftforge.registries.ForgeRegistries;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.ApiConst;
 import net.silentchaos512.gear.api.traits.ITraitSerializer;
+import net.silentchaos512.gear.util.BlockFillBatch;
+import net.silentchaos512.gear.util.BlockWorkQueue;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.lib.util.NameUtils;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 public class BlockFillerTrait extends SimpleTrait {
@@ -74,8 +80,9 @@ public class BlockFillerTrait extends SimpleTrait {
         int rangeY = shouldConstrain(context, Direction.Axis.Y) ? 0 : fillRangeY;
         int rangeZ = shouldConstrain(context, Direction.Axis.Z) ? 0 : fillRangeZ;
 
-        // Simulates replacement to get replace count for durability cost
-        int replaceCount = replaceBlocks(context, stack, world, center, rangeX, rangeY, rangeZ, true);
+        // Find the blocks to replace, which also gives the replace count for durability cost
+        List<BlockPos> positions = findReplaceableBlocks(world, center, rangeX, rangeY, rangeZ);
+        int replaceCount = positions.size();
         int durabilityCost = Math.round(damageOnUse * replaceCount);
         boolean hasEnoughDurability = durabilityCost < 1 || stack.getDamageValue() < stack.getMaxDamage() - durabilityCost;
 
@@ -85,8 +92,16 @@ public class BlockFillerTrait extends SimpleTrait {
         }
 
         if (hasEnoughDurability) {
-            // Actually replace the blocks
-            replaceBlocks(context, stack, world, center, rangeX, rangeY, rangeZ, false);
+            // Actually replace the blocks, over several ticks if there are a lot of them
+            if (world instanceof ServerLevel level && player instanceof ServerPlayer serverPlayer) {
+                BlockWorkQueue.submit(new FillJob(level, serverPlayer, positions));
+            } else if (world instanceof ServerLevel level) {
+                BlockFillBatch batch = createBatch(level);
+                positions.forEach(batch::add);
+                batch.finish();
+            } else {
+                positions.forEach(pos -> replaceBlock(world, pos));
+            }
         }
 
         if (replaceCount > 0) {
@@ -108,25 +123,34 @@ public class BlockFillerTrait extends SimpleTrait {
         return InteractionResult.PASS;
     }
 
-    @SuppressWarnings("MethodWithTooManyParameters")
-    private int replaceBlocks(UseOnContext context, ItemStack stack, Level world, BlockPos center, int rangeX, int rangeY, int rangeZ, boolean simulate) {
-        int count = 0;
+    private List<BlockPos> findReplaceableBlocks(Level world, BlockPos center, int rangeX, int rangeY, int rangeZ) {
+        List<BlockPos> list = new ArrayList<>();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
         for (int x = center.getX() - rangeX; x <= center.getX() + rangeX; ++x) {
             for (int y = center.getY() - rangeY; y <= center.getY() + rangeY; ++y) {
                 for (int z = center.getZ() - rangeZ; z <= center.getZ() + rangeZ; ++z) {
-                    BlockPos pos = new BlockPos(x, y, z);
-                    BlockState state = world.getBlockState(pos);
-
-                    if (canReplace(state) && (replaceTileEntities || world.getBlockEntity(pos) == null)) {
-                        if (!simulate) {
-                            world.setBlock(pos, fillBlock.defaultBlockState(), 11);
-                        }
-                        ++count;
+                    if (canReplace(world, pos.set(x, y, z))) {
+                        list.add(pos.immutable());
                     }
                 }
             }
         }
-        return count;
+        return list;
+    }
+
+    private void replaceBlock(Level world, BlockPos pos) {
+        // Check again, since the block may have changed if the fill was deferred
+        if (canReplace(world, pos)) {
+            world.setBlock(pos, fillBlock.defaultBlockState(), 11);
+        }
+    }
+
+    private BlockFillBatch createBatch(ServerLevel level) {
+        return new BlockFillBatch(level, fillBlock.defaultBlockState(), this::canReplace, replaceTileEntities);
+    }
+
+    private boolean canReplace(Level world, BlockPos pos) {
+        return canReplace(world.getBlockState(pos)) && (replaceTileEntities || world.getBlockEntity(pos) == null);
     }
 
     private boolean shouldConstrain(UseOnContext context, Direction.Axis axis) {
@@ -141,6 +165,26 @@ public class BlockFillerTrait extends SimpleTrait {
                 || (targetBlock != null && state.is(targetBlock));
     }
 
+    private final class FillJob extends BlockWorkQueue.Job {
+        // Blocks are written once per tick, grouped by chunk section
+        private final BlockFillBatch batch;
+
+        private FillJob(ServerLevel level, ServerPlayer player, List<BlockPos> positions) {
+            super(level, player, positions);
+            this.batch = createBatch(level);
+        }
+
+        @Override
+        protected void processPosition(BlockPos pos) {
+            batch.add(pos);
+        }
+
+        @Override
+        protected void finishSlice() {
+            batch.finish();
+        }
+    }
+
     private static void readJson(BlockFillerTrait trait, JsonObject json) {
         JsonObject targetJson = GsonHelper.getAsJsonObject(json, "target");
         if (targetJson.has("tag")) {
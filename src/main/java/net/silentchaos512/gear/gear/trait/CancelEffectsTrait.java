@@ -11,6 +11,7 @@ import net.minecraftforge.registries.ForgeRegistries;
 import net.silentchaos512.gear.api.ApiConst;
 import net.silentchaos512.gear.api.traits.ITraitSerializer;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.api.traits.TraitTickInterest;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -57,6 +58,11 @@ public class CancelEffectsTrait extends SimpleTrait {
         trait.effects.forEach(effect -> buffer.writeResourceLocation(Objects.requireNonNull(ForgeRegistries.MOB_EFFECTS.getKey(effect))));
     }
 
+    @Override
+    public TraitTickInterest getTickInterest() {
+        return TraitTickInterest.EVERY_TICK.equippedOnly();
+    }
+
     @Override
     public void onUpdate(TraitActionContext context, boolean isEquipped) {
         if (isEquipped) {
@@ -6,6 +6,7 @@ import net.minecraft.resources.ResourceLocation;
 import net.silentchaos512.gear.api.ApiConst;
 import net.silentchaos512.gear.api.traits.ITraitSerializer;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.api.traits.TraitTickInterest;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.utils.MathUtils;
 
@@ -44,8 +45,13 @@ public class SelfRepairTrait extends SimpleTrait {
         }
     }
 
+    @Override
+    public TraitTickInterest getTickInterest() {
+        return TraitTickInterest.every(20);
+    }
+
     private boolean shouldActivate(TraitActionContext context) {
-        if (context.getPlayer() != null && context.getPlayer().tickCount % 20 == 0) {
+        if (context.getPlayer() != null) {
             return MathUtils.tryPercentage(activationChance * context.getTraitLevel());
         }
         return false;
@@ -24,6 +24,7 @@ import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.ITraitCondition;
 import net.silentchaos512.gear.api.traits.ITraitSerializer;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.api.traits.TraitTickInterest;
 
 import javax.annotation.Nullable;
 import java.util.*;
@@ -34,6 +35,30 @@ import java.util.stream.Collectors;
 public class SimpleTrait implements ITrait {
     public static final Serializer<SimpleTrait> SERIALIZER = new Serializer<>(ApiConst.SIMPLE_TRAIT_ID, SimpleTrait::new);
 
+    // Whether each trait class overrides onGetStat
+    private static final ClassValue<Boolean> OVERRIDES_ON_GET_STAT = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("onGetStat", TraitActionContext.class, ItemStat.class, float.class, float.class).getDeclaringClass() != SimpleTrait.class;
+            } catch (NoSuchMethodException ex) {
+                return true;
+            }
+        }
+    };
+
+    // Whether each trait class overrides onUpdate
+    private static final ClassValue<Boolean> OVERRIDES_ON_UPDATE = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("onUpdate", TraitActionContext.class, boolean.class).getDeclaringClass() != SimpleTrait.class;
+            } catch (NoSuchMethodException ex) {
+                return true;
+            }
+        }
+    };
+
     private final ResourceLocation objId;
     private final ITraitSerializer<?> serializer;
     int maxLevel;
@@ -137,6 +162,12 @@ public class SimpleTrait implements ITrait {
         return value;
     }
 
+    @Override
+    public boolean canModifyStat(ItemStat stat) {
+        // Traits which do not override onGetStat never modify stats
+        return OVERRIDES_ON_GET_STAT.get(getClass());
+    }
+
     @Override
     public void onGetAttributeModifiers(TraitActionContext context, Multimap<Attribute, AttributeModifier> modifiers, String slot) {
     }
@@ -159,6 +190,12 @@ public class SimpleTrait implements ITrait {
     public void onUpdate(TraitActionContext context, boolean isEquipped) {
     }
 
+    @Override
+    public TraitTickInterest getTickInterest() {
+        // Traits which do not override onUpdate never need to be updated
+        return OVERRIDES_ON_UPDATE.get(getClass()) ? TraitTickInterest.EVERY_TICK : TraitTickInterest.NONE;
+    }
+
     @Override
     public ItemStack addLootDrops(TraitActionContext context, ItemStack stack) {
         return ItemStack.EMPTY;
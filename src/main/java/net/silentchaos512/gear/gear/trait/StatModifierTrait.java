@@ -57,6 +57,17 @@ public final class StatModifierTrait extends SimpleTrait {
         return value;
     }
 
+    @Override
+    public boolean canModifyStat(ItemStat stat) {
+        return this.mods.containsKey(stat);
+    }
+
+    @Override
+    public boolean canReuseStatValue(ItemStat stat) {
+        // Modifiers are fixed when the trait is loaded
+        return true;
+    }
+
     private static void readJson(StatModifierTrait trait, JsonObject json) {
         if (!json.has("stats")) {
             SilentGear.LOGGER.error("JSON file for StatModifierTrait '{}' is missing the 'stats' array", trait.getId());
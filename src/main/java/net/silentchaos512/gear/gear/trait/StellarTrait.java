@@ -6,6 +6,7 @@ import net.minecraft.resources.ResourceLocation;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITraitSerializer;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.api.traits.TraitTickInterest;
 import net.silentchaos512.gear.util.Const;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.utils.MathUtils;
@@ -23,11 +24,18 @@ public class StellarTrait extends WielderEffectTrait {
         super(id, SERIALIZER);
     }
 
+    @Override
+    public TraitTickInterest getTickInterest() {
+        // Wielder effects need equipped updates every 10 ticks, repairs need any update every 20
+        return TraitTickInterest.every(10);
+    }
+
     @Override
     public void onUpdate(TraitActionContext context, boolean isEquipped) {
         Player player = context.getPlayer();
-        if (player != null && player.tickCount % 20 == 0) {
-            float chance = Const.Traits.STELLAR_REPAIR_CHANCE * context.getTraitLevel();
+        if (player != null) {
+            // Updated twice as often as the repair rate, so half the chance each time
+            float chance = Const.Traits.STELLAR_REPAIR_CHANCE * context.getTraitLevel() / 2f;
             if (MathUtils.tryPercentage(chance)) {
                 GearHelper.attemptDamage(context.getGear(), -1, player, InteractionHand.MAIN_HAND);
             }
@@ -10,82 +10,89 @@ import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
 import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
-import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraftforge.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.gear.TraitJsonException;
 import net.silentchaos512.gear.network.SyncTraitsPacket;
-import org.apache.commons.io.IOUtils;
+import net.silentchaos512.gear.util.EquippedTraitState;
+import net.silentchaos512.gear.util.GearStatMemo;
+import net.silentchaos512.gear.util.GearView;
+import net.silentchaos512.gear.util.ParallelJsonLoader;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("deprecation")
-public final class TraitManager implements ResourceManagerReloadListener {
+public final class TraitManager implements PreparableReloadListener {
     public static final TraitManager INSTANCE = new TraitManager();
 
     public static final Marker MARKER = MarkerManager.getMarker("TraitManager");
 
     private static final String DATA_PATH = "silentgear_traits";
-    private static final Map<ResourceLocation, ITrait> TRAITS = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static final Gson GSON = (new GsonBuilder()).setPrettyPrinting().disableHtmlEscaping().create();
+    // Replaced as a whole when traits are reloaded or synced, so readers never need to lock
+    private static volatile Snapshot TRAITS = Snapshot.EMPTY;
     private static final Collection<ResourceLocation> ERROR_LIST = new ArrayList<>();
 
     private TraitManager() {}
 
     @Override
-    public void onResourceManagerReload(ResourceManager resourceManager) {
-        Gson gson = (new GsonBuilder()).setPrettyPrinting().disableHtmlEscaping().create();
-        Map<ResourceLocation, Resource> resources = resourceManager.listResources(DATA_PATH, s -> s.toString().endsWith(".json"));
-        if (resources.isEmpty()) return;
-
-        synchronized (TRAITS) {
-            TRAITS.clear();
-            ERROR_LIST.clear();
-            SilentGear.LOGGER.info(MARKER, "Reloading trait files");
-
-            String packName = "ERROR";
-            for (ResourceLocation id : resources.keySet()) {
-                String path = id.getPath().substring(DATA_PATH.length() + 1, id.getPath().length() - ".json".length());
-                ResourceLocation name = new ResourceLocation(id.getNamespace(), path);
-
-                Optional<Resource> resourceOptional = resourceManager.getResource(id);
-                if (resourceOptional.isPresent()) {
-                    Resource iresource = resourceOptional.get();
-                    packName = iresource.sourcePackId();
-                    JsonObject json = null;
-                    try {
-                        json = GsonHelper.fromJson(gson, IOUtils.toString(iresource.open(), StandardCharsets.UTF_8), JsonObject.class);
-                    } catch (IOException ex) {
-                        SilentGear.LOGGER.error(MARKER, "Could not read trait {}", name, ex);
-                        ERROR_LIST.add(name);
-                    }
-
-                    if (json == null) {
-                        SilentGear.LOGGER.error(MARKER, "could not load trait {} as it's null or empty", name);
-                    } else {
-                        addTrait(tryDeserialize(name, packName, json));
-                    }
-                }
+    public CompletableFuture<Void> reload(PreparationBarrier barrier, ResourceManager resourceManager, ProfilerFiller preparationsProfiler, ProfilerFiller reloadProfiler, Executor backgroundExecutor, Executor gameExecutor) {
+        // Traits do not depend on anything else, so they are fully deserialized before the barrier
+        return ParallelJsonLoader.readAll(resourceManager, DATA_PATH, GSON, backgroundExecutor)
+                .thenCompose(files -> ParallelJsonLoader.deserializeAll(files, file -> tryDeserialize(file.id(), file.packName(), file.json()), backgroundExecutor))
+                .thenCompose(barrier::wait)
+                .thenAcceptAsync(TraitManager::apply, gameExecutor);
+    }
+
+    private static void apply(List<ParallelJsonLoader.Result<ITrait>> results) {
+        if (results.isEmpty()) return;
+
+        SilentGear.LOGGER.info(MARKER, "Reloading trait files");
+        ERROR_LIST.clear();
+        Map<ResourceLocation, ITrait> map = new LinkedHashMap<>();
+
+        for (ParallelJsonLoader.Result<ITrait> result : results) {
+            ParallelJsonLoader.JsonFile file = result.file();
+            if (file.error() != null) {
+                SilentGear.LOGGER.error(MARKER, "Could not read trait {}", file.id(), file.error());
+                ERROR_LIST.add(file.id());
+            }
+
+            ITrait trait = result.value();
+            if (trait == null) {
+                SilentGear.LOGGER.error(MARKER, "could not load trait {} as it's null or empty", file.id());
+            } else {
+                addTrait(map, trait);
             }
         }
 
-        SilentGear.LOGGER.info(MARKER, "Registered {} traits", TRAITS.size());
+        TRAITS = Snapshot.of(map);
+        SilentGear.LOGGER.info(MARKER, "Registered {} traits", map.size());
+        onTraitsChanged();
+    }
+
+    private static void onTraitsChanged() {
+        GearView.invalidateAll();
+        GearStatMemo.invalidateAll();
+        SyncTraitsPacket.invalidateCache();
+        EquippedTraitState.markAllDirty();
     }
 
     @NotNull
     private static ITrait tryDeserialize(ResourceLocation name, String packName, JsonObject json) {
-        SilentGear.LOGGER.info("Deserializing trait {} in pack {}", name, packName);
+        SilentGear.LOGGER.debug(MARKER, "Deserializing trait {} in pack {}", name, packName);
         try {
             return TraitSerializers.deserialize(name, json);
         } catch (JsonSyntaxException ex) {
@@ -93,29 +100,47 @@ public final class TraitManager implements ResourceManagerReloadListener {
         }
     }
 
-    private static void addTrait(ITrait trait) {
-        if (TRAITS.containsKey(trait.getId())) {
+    private static void addTrait(Map<ResourceLocation, ITrait> map, ITrait trait) {
+        if (map.containsKey(trait.getId())) {
             throw new IllegalArgumentException("Duplicate trait " + trait.getId());
         } else {
-            TRAITS.put(trait.getId(), trait);
+            map.put(trait.getId(), trait);
         }
     }
 
     public static Collection<ResourceLocation> getKeys() {
-        synchronized (TRAITS) {
-            return TRAITS.keySet();
-        }
+        return TRAITS.byId().keySet();
     }
 
     public static Collection<ITrait> getValues() {
-        synchronized (TRAITS) {
-            return TRAITS.values();
-        }
+        return TRAITS.byId().values();
+    }
+
+    /**
+     * Gets the ordinal of the trait, a dense index which is assigned when traits are loaded. The
+     * ordinal of a trait may change when data packs are reloaded, so it should not be stored
+     * anywhere that survives a reload.
+     *
+     * @param id The trait ID
+     * @return The ordinal of the trait, or -1 if no trait with the ID is loaded
+     */
+    public static int getOrdinal(ResourceLocation id) {
+        Integer ordinal = TRAITS.ordinals().get(id);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Gets the number of trait ordinals. All ordinals are less than this value.
+     *
+     * @return The number of loaded traits
+     */
+    public static int getOrdinalCount() {
+        return TRAITS.ordinals().size();
     }
 
     @Nullable
     public static ITrait get(ResourceLocation id) {
-        return TRAITS.get(id);
+        return TRAITS.byId().get(id);
     }
 
     @Nullable
@@ -124,15 +149,21 @@ public final class TraitManager implements ResourceManagerReloadListener {
     }
 
     public static void handleTraitSyncPacket(SyncTraitsPacket packet, Supplier<NetworkEvent.Context> context) {
-        synchronized (TRAITS) {
-            Map<ResourceLocation, ITrait> oldTraits = ImmutableMap.copyOf(TRAITS);
-            TRAITS.clear();
-            for (ITrait trait : packet.getTraits()) {
-                trait.retainData(oldTraits.get(trait.getId()));
-                TRAITS.put(trait.getId(), trait);
-            }
-            SilentGear.LOGGER.info("Read {} traits from server", TRAITS.size());
+        if (packet.isSkipped()) {
+            SilentGear.LOGGER.info("Using traits from the integrated server");
+            context.get().setPacketHandled(true);
+            return;
+        }
+
+        Map<ResourceLocation, ITrait> oldTraits = TRAITS.byId();
+        Map<ResourceLocation, ITrait> map = new LinkedHashMap<>();
+        for (ITrait trait : packet.getTraits()) {
+            trait.retainData(oldTraits.get(trait.getId()));
+            map.put(trait.getId(), trait);
         }
+        TRAITS = Snapshot.of(map);
+        SilentGear.LOGGER.info("Read {} traits from server", map.size());
+        onTraitsChanged();
         context.get().setPacketHandled(true);
     }
 
@@ -147,4 +178,22 @@ public final class TraitManager implements ResourceManagerReloadListener {
         }
         return ImmutableList.of();
     }
+
+    /**
+     * All loaded traits and their ordinals, which are replaced together so they always match.
+     */
+    private record Snapshot(ImmutableMap<ResourceLocation, ITrait> byId, ImmutableMap<ResourceLocation, Integer> ordinals) {
+        static final Snapshot EMPTY = new Snapshot(ImmutableMap.of(), ImmutableMap.of());
+
+        static Snapshot of(Map<ResourceLocation, ITrait> traits) {
+            ImmutableMap<ResourceLocation, ITrait> byId = ImmutableMap.copyOf(traits);
+            // Dense trait indexes, in load order
+            ImmutableMap.Builder<ResourceLocation, Integer> ordinals = ImmutableMap.builder();
+            int ordinal = 0;
+            for (ResourceLocation id : byId.keySet()) {
+                ordinals.put(id, ordinal++);
+            }
+            return new Snapshot(byId, ordinals.build());
+        }
+    }
 }
@@ -19,6 +19,7 @@ import net.silentchaos512.gear.api.item.ICoreArmor;
 import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.traits.ITraitSerializer;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.api.traits.TraitTickInterest;
 import net.silentchaos512.gear.util.TraitHelper;
 import net.silentchaos512.lib.util.TimeUtils;
 import net.silentchaos512.utils.EnumUtils;
@@ -47,7 +48,7 @@ public class WielderEffectTrait extends SimpleTrait {
 
     @Override
     public void onUpdate(TraitActionContext context, boolean isEquipped) {
-        if (!isEquipped || context.getPlayer() == null || context.getPlayer().tickCount % 10 != 0) return;
+        if (!isEquipped || context.getPlayer() == null) return;
 
         GearType gearType = ((ICoreItem) context.getGear().getItem()).getGearType();
 
@@ -58,6 +59,11 @@ public class WielderEffectTrait extends SimpleTrait {
         }
     }
 
+    @Override
+    public TraitTickInterest getTickInterest() {
+        return TraitTickInterest.every(10).equippedOnly();
+    }
+
     private void applyEffects(TraitActionContext context, GearType gearType, String type, Iterable<PotionData> effects) {
         Player player = context.getPlayer();
         assert player != null; // checked in onUpdate
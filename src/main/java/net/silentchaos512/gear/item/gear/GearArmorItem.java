@@ -1,7 +1,5 @@
 package net.silentchaos512.gear.item.gear;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import net.minecraft.network.chat.Component;
@@ -23,7 +21,6 @@ import net.silentchaos512.gear.api.material.IMaterialDisplay;
 import net.silentchaos512.gear.api.material.MaterialLayer;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.stats.ItemStats;
-import net.silentchaos512.gear.client.model.ModelErrorLogging;
 import net.silentchaos512.gear.client.util.GearClientHelper;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
@@ -39,8 +36,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 public class GearArmorItem extends DyeableArmorItem implements ICoreArmor {
@@ -49,12 +44,6 @@ public class GearArmorItem extends DyeableArmorItem implements ICoreArmor {
     // sum = 1, starts with boots
     private static final float[] ABSORPTION_RATIO_BY_SLOT = {3f / 20f, 6f / 20f, 8f / 20f, 3f / 20f};
 
-    // Caches armor colors by model key to speed up armor rendering
-    private static final Cache<String, Integer> ARMOR_COLORS = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
-
     public GearArmorItem(ArmorItem.Type type) {
         super(GearHelper.DEFAULT_DUMMY_ARMOR_MATERIAL, type, GearHelper.getBaseItemProperties());
     }
@@ -239,13 +228,8 @@ public class GearArmorItem extends DyeableArmorItem implements ICoreArmor {
 
     @Override
     public int getColor(ItemStack stack) {
-        try {
-            return ARMOR_COLORS.get(GearData.getModelKey(stack, 0), () -> getArmorColor(stack));
-        } catch (ExecutionException e) {
-            ModelErrorLogging.notifyOfException(e, "armor model");
-        }
-
-        return Color.VALUE_WHITE;
+        // Cached by model key to speed up armor rendering
+        return GearColorCache.getColor(stack, GearColorCache.ARMOR_MODEL, () -> getArmorColor(stack));
     }
 
     private static int getArmorColor(ItemStack stack) {
@@ -1,13 +1,19 @@
 package net.silentchaos512.gear.item.gear;
 
+import it.unimi.dsi.fastutil.objects.Reference2BooleanMap;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.context.UseOnContext;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraftforge.common.ToolAction;
 import net.minecraftforge.network.NetworkDirection;
 import net.silentchaos512.gear.api.item.GearType;
@@ -19,6 +25,7 @@ import net.silentchaos512.gear.util.GearHelper;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Predicate;
 
 public class GearProspectorHammerItem extends GearPickaxeItem {
     public GearProspectorHammerItem(GearType gearType) {
@@ -56,20 +63,63 @@ public class GearProspectorHammerItem extends GearPickaxeItem {
     }
 
     public Set<BlockState> getTargetedBlocks(UseOnContext context, int range, Direction face) {
+        // The searched area is a 3x3 column going into the clicked face
+        BlockPos start = context.getClickedPos();
+        Direction direction = face.getOpposite();
+        BlockPos end = start.relative(direction, range - 1);
+        boolean widenX = direction.getAxis() == Direction.Axis.Z;
+
+        int minX = Math.min(start.getX(), end.getX()) - (widenX ? 1 : 0);
+        int maxX = Math.max(start.getX(), end.getX()) + (widenX ? 1 : 0);
+        int minZ = Math.min(start.getZ(), end.getZ()) - (widenX ? 0 : 1);
+        int maxZ = Math.max(start.getZ(), end.getZ()) + (widenX ? 0 : 1);
+
+        return findTargets(context.getLevel(), minX, start.getY() - 1, minZ, maxX, start.getY() + 1, maxZ);
+    }
+
+    private static Set<BlockState> findTargets(Level level, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
         Set<BlockState> matches = new HashSet<>();
+        // Sections usually contain only a few different states, so remember what each one is
+        Reference2BooleanMap<BlockState> isTargetCache = new Reference2BooleanOpenHashMap<>();
+        Predicate<BlockState> isTarget = state -> {
+            if (isTargetCache.containsKey(state)) {
+                return isTargetCache.getBoolean(state);
+            }
+            boolean ret = state.is(SgTags.Blocks.PROSPECTOR_HAMMER_TARGETS);
+            isTargetCache.put(state, ret);
+            return ret;
+        };
 
-        Direction direction = face.getOpposite();
-        for (int i = 0; i < range; ++i) {
-            for (int j = -1; j <= 1; ++j) {
-                for (int k = -1; k <= 1; ++k) {
-                    BlockPos pos = context.getClickedPos()
-                            .relative(direction, i)
-                            .relative(direction.getCounterClockWise(), j)
-                            .relative(Direction.DOWN, k);
-
-                    BlockState state = context.getLevel().getBlockState(pos);
-                    if (state.is(SgTags.Blocks.PROSPECTOR_HAMMER_TARGETS)) {
-                        matches.add(state);
+        minY = Math.max(minY, level.getMinBuildHeight());
+        maxY = Math.min(maxY, level.getMaxBuildHeight() - 1);
+
+        for (int sectionX = SectionPos.blockToSectionCoord(minX); sectionX <= SectionPos.blockToSectionCoord(maxX); ++sectionX) {
+            for (int sectionZ = SectionPos.blockToSectionCoord(minZ); sectionZ <= SectionPos.blockToSectionCoord(maxZ); ++sectionZ) {
+                LevelChunk chunk = level.getChunk(sectionX, sectionZ);
+
+                for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); ++sectionY) {
+                    LevelChunkSection section = chunk.getSection(level.getSectionIndexFromSectionY(sectionY));
+                    // Check the palette first, most sections will not contain any targets
+                    if (section.hasOnlyAir() || !section.maybeHas(isTarget)) {
+                        continue;
+                    }
+
+                    int x0 = Math.max(minX, SectionPos.sectionToBlockCoord(sectionX));
+                    int x1 = Math.min(maxX, SectionPos.sectionToBlockCoord(sectionX, 15));
+                    int y0 = Math.max(minY, SectionPos.sectionToBlockCoord(sectionY));
+                    int y1 = Math.min(maxY, SectionPos.sectionToBlockCoord(sectionY, 15));
+                    int z0 = Math.max(minZ, SectionPos.sectionToBlockCoord(sectionZ));
+                    int z1 = Math.min(maxZ, SectionPos.sectionToBlockCoord(sectionZ, 15));
+
+                    for (int x = x0; x <= x1; ++x) {
+                        for (int y = y0; y <= y1; ++y) {
+                            for (int z = z0; z <= z1; ++z) {
+                                BlockState state = section.getBlockState(x & 15, y & 15, z & 15);
+                                if (isTarget.test(state)) {
+                                    matches.add(state);
+                                }
+                            }
+                        }
                     }
                 }
             }
@@ -1,7 +1,12 @@
 package net.silentchaos512.gear.item.gear;
 
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
@@ -11,13 +16,15 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.LeavesBlock;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.event.level.BlockEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.config.Config;
+import net.silentchaos512.gear.util.BlockBreakBatch;
+import net.silentchaos512.gear.util.BlockWorkQueue;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 
 public class GearSawItem extends GearAxeItem {
     public GearSawItem(GearType gearType) {
@@ -27,7 +34,7 @@ public class GearSawItem extends GearAxeItem {
     @Override
     public boolean onBlockStartBreak(ItemStack stack, BlockPos pos, Player player) {
         Level world = player.level();
-        if (!world.isClientSide) {
+        if (world instanceof ServerLevel level && player instanceof ServerPlayer serverPlayer) {
             BlockState state = world.getBlockState(pos);
 
             if (isLog(state) && detectTree(world, pos.getX(), pos.getY(), pos.getZ(), state.getBlock())) {
@@ -36,13 +43,15 @@ public class GearSawItem extends GearAxeItem {
                     return false;
                 }
 
-                TreeBreakResult result = new TreeBreakResult(stack, player);
-                breakTree(result, world, pos, pos, 0);
-                SilentGear.LOGGER.debug("{} chopped down a tree with {} blocks using {}. Max recursion depth: {}",
+                TreeSearch tree = new TreeSearch(stack);
+                List<BlockPos> blocks = findTree(tree, level, pos);
+                SilentGear.LOGGER.debug("{} chopped down a tree with {} blocks using {}",
                         player.getScoreboardName(),
-                        result.blocksBroken,
-                        stack.getHoverName().getString(),
-                        result.maxDepth);
+                        blocks.size(),
+                        stack.getHoverName().getString());
+
+                // Large trees are felled over several ticks if needed
+                BlockWorkQueue.submit(new FellTreeJob(level, serverPlayer, tree, pos, blocks));
                 return true;
             }
         }
@@ -95,7 +104,7 @@ public class GearSawItem extends GearAxeItem {
         return isLog(state, null);
     }
 
-    private static boolean isLog(BlockState state, @Nullable TreeBreakResult result) {
+    private static boolean isLog(BlockState state, @Nullable TreeSearch result) {
         if (result != null && result.firstLog != null) {
             return state.getBlock() == result.firstLog;
         }
@@ -106,7 +115,7 @@ public class GearSawItem extends GearAxeItem {
         return isFoliage(state, null);
     }
 
-    private static boolean isFoliage(BlockState state, @Nullable TreeBreakResult result) {
+    private static boolean isFoliage(BlockState state, @Nullable TreeSearch result) {
         if (state.getBlock() == Blocks.SHROOMLIGHT) {
             return true;
         }
@@ -122,77 +131,121 @@ public class GearSawItem extends GearAxeItem {
         return state.is(BlockTags.LEAVES) || state.is(BlockTags.WART_BLOCKS);
     }
 
-    private void breakTree(TreeBreakResult result, Level world, BlockPos pos, BlockPos startPos, int recursionDepth) {
-        result.maxDepth = recursionDepth;
-
-        if (recursionDepth > Config.Common.sawRecursionDepth.get()) {
-            return;
-        }
-
-        for (int xPos = pos.getX() - 1; xPos <= pos.getX() + 1; ++xPos) {
-            for (int yPos = pos.getY() - 1; yPos <= pos.getY() + 1; ++yPos) { // starts 1 down for hanging foliage
-                for (int zPos = pos.getZ() - 1; zPos <= pos.getZ() + 1; ++zPos) {
-                    BlockPos localPos = new BlockPos(xPos, yPos, zPos);
-                    BlockState localState = world.getBlockState(localPos);
-                    Block localBlock = localState.getBlock();
-
-                    boolean isLog = isLog(localState, result);
-                    boolean isFoliage = isFoliage(localState, result);
+    /**
+     * Finds the blocks of the tree with a breadth-first search from the chopped block, in the order
+     * they should be broken. The search continues through blocks the tool can break, ignoring
+     * blocks which are too far from the start, and stops once the configured number of blocks or
+     * steps is reached.
+     */
+    private List<BlockPos> findTree(TreeSearch tree, Level world, BlockPos start) {
+        final int maxBlocks = Config.Common.sawMaxBlocks.get();
+        final int maxDepth = Config.Common.sawRecursionDepth.get();
+
+        List<BlockPos> found = new ArrayList<>();
+        LongSet visited = new LongOpenHashSet();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        BlockPos.MutableBlockPos center = new BlockPos.MutableBlockPos();
+        BlockPos.MutableBlockPos localPos = new BlockPos.MutableBlockPos();
+
+        // The start is not marked as visited, so it is found along with its neighbors
+        queue.enqueue(start.asLong());
+
+        for (int depth = 0; depth <= maxDepth && !queue.isEmpty(); ++depth) {
+            for (int remaining = queue.size(); remaining > 0; --remaining) {
+                center.set(queue.dequeueLong());
+
+                for (int x = -1; x <= 1; ++x) {
+                    for (int y = -1; y <= 1; ++y) { // starts 1 down for hanging foliage
+                        for (int z = -1; z <= 1; ++z) {
+                            localPos.setWithOffset(center, x, y, z);
+
+                            int xDist = localPos.getX() - start.getX();
+                            int yDist = localPos.getY() - start.getY();
+                            int zDist = localPos.getZ() - start.getZ();
+                            if (9 * xDist * xDist + yDist * yDist + 9 * zDist * zDist >= 1000) {
+                                continue;
+                            }
 
-                    if (isLog || isFoliage) {
-                        // Remember what logs/leaves this tree has, so we don't chop down multiple trees
-                        if (isLog && result.firstLog == null) {
-                            result.firstLog = localBlock;
-                        }
-                        if (isFoliage && result.firstFoliage == null) {
-                            result.firstFoliage = localBlock;
-                        }
+                            long key = localPos.asLong();
+                            if (!visited.add(key) || !world.isLoaded(localPos)) {
+                                continue;
+                            }
 
-                        float localHardness = localState.getDestroySpeed(world, localPos);
-
-                        if (isCorrectToolForDrops(result.tool, localState) && localHardness >= 0) {
-                            // Block break event
-                            BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(world, localPos, localState, result.player);
-                            MinecraftForge.EVENT_BUS.post(event);
-                            boolean cancel = event.isCanceled();
-
-                            int xDist = xPos - startPos.getX();
-                            int yDist = yPos - startPos.getY();
-                            int zDist = zPos - startPos.getZ();
-
-                            if (9 * xDist * xDist + yDist * yDist + 9 * zDist * zDist < 1000) {
-                                if (cancel) {
-                                    breakTree(result, world, localPos, startPos, recursionDepth + 1);
-                                } else {
-                                    if (!result.player.getAbilities().instabuild) {
-                                        localBlock.playerDestroy(world, result.player, pos, localState, world.getBlockEntity(pos), result.tool);
-                                        mineBlock(result.tool, world, localState, localPos, result.player);
-                                        ++result.blocksBroken;
-                                    }
-
-                                    world.removeBlock(localPos, false);
-                                    breakTree(result, world, localPos, startPos, recursionDepth + 1);
+                            if (canFell(tree, world, localPos, world.getBlockState(localPos))) {
+                                found.add(localPos.immutable());
+                                if (found.size() >= maxBlocks) {
+                                    return found;
                                 }
+                                queue.enqueue(key);
                             }
                         }
                     }
                 }
             }
         }
+
+        return found;
+    }
+
+    private boolean canFell(TreeSearch tree, BlockGetter world, BlockPos pos, BlockState state) {
+        boolean isLog = isLog(state, tree);
+        boolean isFoliage = isFoliage(state, tree);
+        if (!isLog && !isFoliage) {
+            return false;
+        }
+
+        // Remember what logs/leaves this tree has, so we don't chop down multiple trees
+        if (isLog && tree.firstLog == null) {
+            tree.firstLog = state.getBlock();
+        }
+        if (isFoliage && tree.firstFoliage == null) {
+            tree.firstFoliage = state.getBlock();
+        }
+
+        return isCorrectToolForDrops(tree.tool, state) && state.getDestroySpeed(world, pos) >= 0;
+    }
+
+    private static final class FellTreeJob extends BlockWorkQueue.Job {
+        private final TreeSearch tree;
+        // Drops are combined and block changes are sent once per chunk section
+        private final BlockBreakBatch batch;
+
+        private FellTreeJob(ServerLevel level, ServerPlayer player, TreeSearch tree, BlockPos pos, List<BlockPos> positions) {
+            super(level, player, positions);
+            this.tree = tree;
+            this.batch = new BlockBreakBatch(level, player, tree.tool, pos);
+            this.batch.markChanged(pos);
+        }
+
+        @Override
+        protected void processPosition(BlockPos pos) {
+            // The block may have changed if this is a later tick
+            BlockState state = level.getBlockState(pos);
+            if (level.isLoaded(pos) && (isLog(state, tree) || isFoliage(state, tree))) {
+                batch.breakBlock(pos);
+            }
+        }
+
+        @Override
+        protected void finishSlice() {
+            batch.finish();
+        }
+
+        @Override
+        protected boolean isValid() {
+            // Stop if the saw breaks or is no longer held
+            return super.isValid() && !tree.tool.isEmpty() && player.getMainHandItem() == tree.tool;
+        }
     }
 
-    private static final class TreeBreakResult {
+    private static final class TreeSearch {
         final ItemStack tool;
-        final Player player;
 
-        int blocksBroken;
-        int maxDepth;
         Block firstLog;
         Block firstFoliage;
 
-        private TreeBreakResult(ItemStack tool, Player player) {
+        private TreeSearch(ItemStack tool) {
             this.tool = tool;
-            this.player = player;
         }
     }
 }
@@ -0,0 +1,231 @@
+package net.silentchaos512.gear.network;
+
+import com.google.common.hash.Hashing;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.network.FriendlyByteBuf;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.config.Config;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Buffer used by the login sync packets (materials, parts, and traits), which writes each distinct
+ * string only once. Later occurrences of the same string are written as a varint index into the
+ * strings already written. Since IDs, stat keys, gear types, and pack names are all written with
+ * {@link #writeUtf} (or {@link #writeResourceLocation}, which uses it), serializers do not need to
+ * know about this.
+ * <p>
+ * Each packet's contents are written as a single section with {@link #writeSection}, which may
+ * also deflate the whole section, depending on the {@code network.compressLoginSync} config.
+ * Sections of the current definitions are kept in a {@link SectionCache} until the next reload.
+ */
+final class CompactSyncBuffer extends FriendlyByteBuf {
+    // Guards against absurd sizes from a broken or malicious server
+    private static final int MAX_SECTION_SIZE = 64 * 1024 * 1024;
+
+    private final Object2IntMap<String> writtenStrings = new Object2IntOpenHashMap<>();
+    private final List<String> readStrings = new ArrayList<>();
+
+    private CompactSyncBuffer(ByteBuf source) {
+        super(source);
+        this.writtenStrings.defaultReturnValue(-1);
+    }
+
+    @Override
+    public FriendlyByteBuf writeUtf(String string, int maxLength) {
+        int index = this.writtenStrings.getInt(string);
+        if (index >= 0) {
+            writeVarInt(index + 1);
+            return this;
+        }
+
+        // Zero means a new string follows
+        writeVarInt(0);
+        super.writeUtf(string, maxLength);
+        this.writtenStrings.put(string, this.writtenStrings.size());
+        return this;
+    }
+
+    @Override
+    public String readUtf(int maxLength) {
+        int index = readVarInt();
+        if (index == 0) {
+            String string = super.readUtf(maxLength);
+            this.readStrings.add(string);
+            return string;
+        }
+
+        if (index > this.readStrings.size()) {
+            throw new DecoderException("Unknown string index " + index + ", only " + this.readStrings.size() + " strings have been read");
+        }
+        return this.readStrings.get(index - 1);
+    }
+
+    /**
+     * Encodes a section of a sync packet, which can then be written to any number of packets.
+     *
+     * @param name   Name of the section for logging
+     * @param writer Writes the contents of the section
+     * @return The encoded section
+     */
+    static Section encodeSection(String name, Consumer<FriendlyByteBuf> writer) {
+        CompactSyncBuffer buffer = new CompactSyncBuffer(Unpooled.buffer());
+        try {
+            writer.accept(buffer);
+
+            byte[] raw = new byte[buffer.readableBytes()];
+            buffer.readBytes(raw);
+            boolean compress = Config.Common.compressLoginSync.get();
+            byte[] data = compress ? deflate(raw) : raw;
+            String hash = hash(raw);
+
+            SilentGear.LOGGER.debug("{} sync: {} bytes with {} distinct strings, {} bytes sent{}, hash {}",
+                    name, raw.length, buffer.writtenStrings.size(), data.length, compress ? " (compressed)" : "", hash);
+            return new Section(compress, raw.length, data, hash);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Writes a section of a sync packet.
+     *
+     * @param out    The packet buffer
+     * @param name   Name of the section for logging
+     * @param writer Writes the contents of the section
+     */
+    static void writeSection(FriendlyByteBuf out, String name, Consumer<FriendlyByteBuf> writer) {
+        encodeSection(name, writer).writeTo(out);
+    }
+
+    /**
+     * Reads a section written with {@link #writeSection}.
+     *
+     * @param in   The packet buffer
+     * @param name Name of the section for logging
+     * @return A buffer to read the contents of the section from
+     */
+    static FriendlyByteBuf readSection(FriendlyByteBuf in, String name) {
+        boolean compressed = in.readBoolean();
+        int rawLength = in.readVarInt();
+        if (rawLength < 0 || rawLength > MAX_SECTION_SIZE) {
+            throw new DecoderException(name + " sync section is too large: " + rawLength + " bytes");
+        }
+
+        byte[] data = in.readByteArray(compressed ? MAX_SECTION_SIZE : rawLength);
+        byte[] raw = compressed ? inflate(data, rawLength) : data;
+
+        SilentGear.LOGGER.debug("{} sync: received {} bytes, {} bytes uncompressed, hash {}", name, data.length, raw.length, hash(raw));
+        return new CompactSyncBuffer(Unpooled.wrappedBuffer(raw));
+    }
+
+    private static String hash(byte[] raw) {
+        return Hashing.sha256().hashBytes(raw).toString();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                out.write(chunk, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+
+            byte[] raw = new byte[rawLength];
+            int total = 0;
+            while (total < rawLength && !inflater.finished()) {
+                int count = inflater.inflate(raw, total, rawLength - total);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                total += count;
+            }
+
+            if (total != rawLength) {
+                throw new DecoderException("Compressed sync section has the wrong length, expected " + rawLength + " bytes");
+            }
+            return raw;
+        } catch (DataFormatException ex) {
+            throw new DecoderException("Could not decompress sync section", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * An encoded section. The hash is calculated from the uncompressed contents, so it only
+     * changes when the definitions written to the section change.
+     */
+    record Section(boolean compressed, int rawLength, byte[] data, String hash) {
+        void writeTo(FriendlyByteBuf out) {
+            out.writeBoolean(this.compressed);
+            out.writeVarInt(this.rawLength);
+            out.writeByteArray(this.data);
+        }
+    }
+
+    /**
+     * Holds the encoded section of a login sync packet, so it is only encoded once after each
+     * reload instead of once for every player that logs in.
+     */
+    static final class SectionCache {
+        private final String name;
+        private final Consumer<FriendlyByteBuf> writer;
+        // Incremented by every invalidation, so sections encoded before a reload are never reused
+        private final AtomicInteger generation = new AtomicInteger();
+        @Nullable private volatile Entry entry;
+
+        SectionCache(String name, Consumer<FriendlyByteBuf> writer) {
+            this.name = name;
+            this.writer = writer;
+        }
+
+        Section get() {
+            int gen = this.generation.get();
+            Entry cached = this.entry;
+            if (cached != null && cached.generation() == gen && cached.section().compressed() == Config.Common.compressLoginSync.get()) {
+                return cached.section();
+            }
+
+            Section ret = encodeSection(this.name, this.writer);
+            // A reload may have invalidated the cache while encoding. The entry is stored anyway,
+            // but its generation is old, so the next call encodes the new definitions.
+            this.entry = new Entry(ret, gen);
+            return ret;
+        }
+
+        void invalidate() {
+            this.generation.incrementAndGet();
+            this.entry = null;
+        }
+
+        private record Entry(Section section, int generation) {}
+    }
+}
@@ -11,12 +11,14 @@ import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.gear.part.PartManager;
 import net.silentchaos512.gear.gear.trait.TraitManager;
 import net.silentchaos512.gear.util.MismatchedVersionsException;
+import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Collections;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
 public final class Network {
-    public static final String VERSION = "sgear-net-14";
+    public static final String VERSION = "sgear-net-16";
     private static final Pattern NET_VERSION_PATTERN = Pattern.compile("sgear-net-\\d+$");
     private static final Pattern MOD_VERSION_PATTERN = Pattern.compile("^\\d+\\.\\d+\\.\\d+$");
 
@@ -33,7 +35,7 @@ public final class Network {
                 .loginIndex(LoginPacket::getLoginIndex, LoginPacket::setLoginIndex)
                 .decoder(SyncTraitsPacket::fromBytes)
                 .encoder(SyncTraitsPacket::toBytes)
-                .markAsLoginPacket()
+                .buildLoginPacketList(isLocal -> Collections.singletonList(Pair.of(SyncTraitsPacket.class.getName(), SyncTraitsPacket.forLogin(isLocal))))
                 .consumerMainThread(HandshakeHandler.biConsumerFor((hh, msg, ctx) -> {
                     TraitManager.handleTraitSyncPacket(msg, ctx);
                     channel.reply(new LoginPacket.Reply(), ctx.get());
@@ -43,7 +45,7 @@ public final class Network {
                 .loginIndex(LoginPacket::getLoginIndex, LoginPacket::setLoginIndex)
                 .decoder(SyncGearPartsPacket::fromBytes)
                 .encoder(SyncGearPartsPacket::toBytes)
-                .markAsLoginPacket()
+                .buildLoginPacketList(isLocal -> Collections.singletonList(Pair.of(SyncGearPartsPacket.class.getName(), SyncGearPartsPacket.forLogin(isLocal))))
                 .consumerMainThread(HandshakeHandler.biConsumerFor((hh, msg, ctx) -> {
                     PartManager.handlePartSyncPacket(msg, ctx);
                     channel.reply(new LoginPacket.Reply(), ctx.get());
@@ -65,7 +67,7 @@ public final class Network {
                 .loginIndex(LoginPacket::getLoginIndex, LoginPacket::setLoginIndex)
                 .decoder(SyncMaterialsPacket::fromBytes)
                 .encoder(SyncMaterialsPacket::toBytes)
-                .markAsLoginPacket()
+                .buildLoginPacketList(isLocal -> Collections.singletonList(Pair.of(SyncMaterialsPacket.class.getName(), SyncMaterialsPacket.forLogin(isLocal))))
                 .consumerMainThread(HandshakeHandler.biConsumerFor((hh, msg, ctx) -> {
                     MaterialManager.handleSyncPacket(msg, ctx);
                     channel.reply(new LoginPacket.Reply(), ctx.get());
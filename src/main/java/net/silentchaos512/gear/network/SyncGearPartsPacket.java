@@ -12,27 +12,63 @@ import java.util.Collections;
 import java.util.List;
 
 public class SyncGearPartsPacket extends LoginPacket {
+    // The current parts, encoded once after each reload
+    private static final CompactSyncBuffer.SectionCache CURRENT_PARTS =
+            new CompactSyncBuffer.SectionCache("Parts", buf -> writeParts(PartManager.getValues(), buf));
+
     private final List<IGearPart> parts;
+    // True if these are the current parts, which can be written from the cache
+    private final boolean current;
+    // True on local connections, where the client already shares the server's parts
+    private final boolean skipped;
 
     public SyncGearPartsPacket() {
-        this(PartManager.getValues());
+        this(PartManager.getValues(), true, false);
     }
 
     public SyncGearPartsPacket(Collection<IGearPart> parts) {
+        this(parts, false, false);
+    }
+
+    private SyncGearPartsPacket(Collection<IGearPart> parts, boolean current, boolean skipped) {
         this.parts = new ArrayList<>(parts);
+        this.current = current;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Creates the packet sent when a player logs in. Nothing is sent on local connections (single
+     * player or the LAN host), since the client and server share the same parts.
+     *
+     * @param isLocal True if the connection is local
+     * @return The packet
+     */
+    public static SyncGearPartsPacket forLogin(boolean isLocal) {
+        return isLocal ? new SyncGearPartsPacket(Collections.emptyList(), false, true) : new SyncGearPartsPacket();
+    }
+
+    /**
+     * Discards the encoded parts. Must be called when parts are reloaded.
+     */
+    public static void invalidateCache() {
+        CURRENT_PARTS.invalidate();
     }
 
     public static SyncGearPartsPacket fromBytes(FriendlyByteBuf buf) {
         SilentGear.LOGGER.debug("Gear parts packet: {} bytes", buf.readableBytes());
-        SyncGearPartsPacket packet = new SyncGearPartsPacket(Collections.emptyList());
-
         // Verify network version
         Network.verifyNetworkVersion(buf);
 
+        if (buf.readBoolean()) {
+            return new SyncGearPartsPacket(Collections.emptyList(), false, true);
+        }
+
+        SyncGearPartsPacket packet = new SyncGearPartsPacket(Collections.emptyList());
         // Read parts
-        int count = buf.readVarInt();
+        FriendlyByteBuf data = CompactSyncBuffer.readSection(buf, "Parts");
+        int count = data.readVarInt();
         for (int i = 0; i < count; ++i) {
-            packet.parts.add(PartSerializers.read(buf));
+            packet.parts.add(PartSerializers.read(data));
         }
 
         return packet;
@@ -40,8 +76,25 @@ public class SyncGearPartsPacket extends LoginPacket {
 
     public void toBytes(FriendlyByteBuf buf) {
         Network.writeModVersionInfoToNetwork(buf);
-        buf.writeVarInt(this.parts.size());
-        this.parts.forEach(part -> PartSerializers.write(part, buf));
+        buf.writeBoolean(this.skipped);
+
+        if (this.current) {
+            CURRENT_PARTS.get().writeTo(buf);
+        } else if (!this.skipped) {
+            CompactSyncBuffer.writeSection(buf, "Parts", out -> writeParts(this.parts, out));
+        }
+    }
+
+    private static void writeParts(Collection<IGearPart> parts, FriendlyByteBuf buf) {
+        buf.writeVarInt(parts.size());
+        parts.forEach(part -> PartSerializers.write(part, buf));
+    }
+
+    /**
+     * @return True if nothing was sent, because the client shares the server's parts
+     */
+    public boolean isSkipped() {
+        return this.skipped;
     }
 
     public List<IGearPart> getParts() {
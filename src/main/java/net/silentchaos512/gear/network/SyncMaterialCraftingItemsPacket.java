@@ -95,6 +95,7 @@ public class SyncMaterialCraftingItemsPacket {
     public void handle(Supplier<NetworkEvent.Context> context) {
         SilentGear.LOGGER.debug("Correcting material crafting items");
         MaterialManager.getValues().forEach(m -> m.updateIngredient(this));
+        MaterialManager.invalidateIngredientIndex();
         context.get().setPacketHandled(true);
     }
 }
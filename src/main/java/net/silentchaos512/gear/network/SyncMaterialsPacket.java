@@ -12,27 +12,63 @@ import java.util.Collections;
 import java.util.List;
 
 public class SyncMaterialsPacket extends LoginPacket {
+    // The current materials, encoded once after each reload
+    private static final CompactSyncBuffer.SectionCache CURRENT_MATERIALS =
+            new CompactSyncBuffer.SectionCache("Materials", buf -> writeMaterials(MaterialManager.getValues(), buf));
+
     private final List<IMaterial> materials;
+    // True if these are the current materials, which can be written from the cache
+    private final boolean current;
+    // True on local connections, where the client already shares the server's materials
+    private final boolean skipped;
 
     public SyncMaterialsPacket() {
-        this(MaterialManager.getValues());
+        this(MaterialManager.getValues(), true, false);
     }
 
     public SyncMaterialsPacket(Collection<IMaterial> materials) {
+        this(materials, false, false);
+    }
+
+    private SyncMaterialsPacket(Collection<IMaterial> materials, boolean current, boolean skipped) {
         this.materials = new ArrayList<>(materials);
+        this.current = current;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Creates the packet sent when a player logs in. Nothing is sent on local connections (single
+     * player or the LAN host), since the client and server share the same materials.
+     *
+     * @param isLocal True if the connection is local
+     * @return The packet
+     */
+    public static SyncMaterialsPacket forLogin(boolean isLocal) {
+        return isLocal ? new SyncMaterialsPacket(Collections.emptyList(), false, true) : new SyncMaterialsPacket();
+    }
+
+    /**
+     * Discards the encoded materials. Must be called when materials are reloaded.
+     */
+    public static void invalidateCache() {
+        CURRENT_MATERIALS.invalidate();
     }
 
     public static SyncMaterialsPacket fromBytes(FriendlyByteBuf buf) {
         SilentGear.LOGGER.debug("Materials packet: {} bytes", buf.readableBytes());
-        SyncMaterialsPacket packet = new SyncMaterialsPacket(Collections.emptyList());
-
         // Verify network version
         Network.verifyNetworkVersion(buf);
 
+        if (buf.readBoolean()) {
+            return new SyncMaterialsPacket(Collections.emptyList(), false, true);
+        }
+
+        SyncMaterialsPacket packet = new SyncMaterialsPacket(Collections.emptyList());
         // Read materials
-        int count = buf.readVarInt();
+        FriendlyByteBuf data = CompactSyncBuffer.readSection(buf, "Materials");
+        int count = data.readVarInt();
         for (int i = 0; i < count; ++i) {
-            packet.materials.add(MaterialSerializers.read(buf));
+            packet.materials.add(MaterialSerializers.read(data));
         }
 
         return packet;
@@ -40,8 +76,25 @@ public class SyncMaterialsPacket extends LoginPacket {
 
     public void toBytes(FriendlyByteBuf buf) {
         Network.writeModVersionInfoToNetwork(buf);
-        buf.writeVarInt(this.materials.size());
-        this.materials.forEach(mat -> MaterialSerializers.write(mat, buf));
+        buf.writeBoolean(this.skipped);
+
+        if (this.current) {
+            CURRENT_MATERIALS.get().writeTo(buf);
+        } else if (!this.skipped) {
+            CompactSyncBuffer.writeSection(buf, "Materials", out -> writeMaterials(this.materials, out));
+        }
+    }
+
+    private static void writeMaterials(Collection<IMaterial> materials, FriendlyByteBuf buf) {
+        buf.writeVarInt(materials.size());
+        materials.forEach(mat -> MaterialSerializers.write(mat, buf));
+    }
+
+    /**
+     * @return True if nothing was sent, because the client shares the server's materials
+     */
+    public boolean isSkipped() {
+        return this.skipped;
     }
 
     public List<IMaterial> getMaterials() {
@@ -11,25 +11,61 @@ import java.util.Collections;
 import java.util.List;
 
 public class SyncTraitsPacket extends LoginPacket {
+    // The current traits, encoded once after each reload
+    private static final CompactSyncBuffer.SectionCache CURRENT_TRAITS =
+            new CompactSyncBuffer.SectionCache("Traits", buf -> writeTraits(TraitManager.getValues(), buf));
+
     private final List<ITrait> traits;
+    // True if these are the current traits, which can be written from the cache
+    private final boolean current;
+    // True on local connections, where the client already shares the server's traits
+    private final boolean skipped;
 
     public SyncTraitsPacket() {
-        this(TraitManager.getValues());
+        this(TraitManager.getValues(), true, false);
     }
 
     public SyncTraitsPacket(Collection<ITrait> traits) {
+        this(traits, false, false);
+    }
+
+    private SyncTraitsPacket(Collection<ITrait> traits, boolean current, boolean skipped) {
         this.traits = new ArrayList<>(traits);
+        this.current = current;
+        this.skipped = skipped;
     }
 
-    public static SyncTraitsPacket fromBytes(FriendlyByteBuf buf) {
-        SyncTraitsPacket packet = new SyncTraitsPacket(Collections.emptyList());
+    /**
+     * Creates the packet sent when a player logs in. Nothing is sent on local connections (single
+     * player or the LAN host), since the client and server share the same traits.
+     *
+     * @param isLocal True if the connection is local
+     * @return The packet
+     */
+    public static SyncTraitsPacket forLogin(boolean isLocal) {
+        return isLocal ? new SyncTraitsPacket(Collections.emptyList(), false, true) : new SyncTraitsPacket();
+    }
+
+    /**
+     * Discards the encoded traits. Must be called when traits are reloaded.
+     */
+    public static void invalidateCache() {
+        CURRENT_TRAITS.invalidate();
+    }
 
+    public static SyncTraitsPacket fromBytes(FriendlyByteBuf buf) {
         // Verify network version
         Network.verifyNetworkVersion(buf);
 
-        int count = buf.readVarInt();
+        if (buf.readBoolean()) {
+            return new SyncTraitsPacket(Collections.emptyList(), false, true);
+        }
+
+        SyncTraitsPacket packet = new SyncTraitsPacket(Collections.emptyList());
+        FriendlyByteBuf data = CompactSyncBuffer.readSection(buf, "Traits");
+        int count = data.readVarInt();
         for (int i = 0; i < count; ++i) {
-            packet.traits.add(TraitSerializers.read(buf));
+            packet.traits.add(TraitSerializers.read(data));
         }
 
         return packet;
@@ -37,8 +73,25 @@ public class SyncTraitsPacket extends LoginPacket {
 
     public void toBytes(FriendlyByteBuf buf) {
         Network.writeModVersionInfoToNetwork(buf);
-        buf.writeVarInt(this.traits.size());
-        this.traits.forEach(trait -> TraitSerializers.write(trait, buf));
+        buf.writeBoolean(this.skipped);
+
+        if (this.current) {
+            CURRENT_TRAITS.get().writeTo(buf);
+        } else if (!this.skipped) {
+            CompactSyncBuffer.writeSection(buf, "Traits", out -> writeTraits(this.traits, out));
+        }
+    }
+
+    private static void writeTraits(Collection<ITrait> traits, FriendlyByteBuf buf) {
+        buf.writeVarInt(traits.size());
+        traits.forEach(trait -> TraitSerializers.write(trait, buf));
+    }
+
+    /**
+     * @return True if nothing was sent, because the client shares the server's traits
+     */
+    public boolean isSkipped() {
+        return this.skipped;
     }
 
     public List<ITrait> getTraits() {
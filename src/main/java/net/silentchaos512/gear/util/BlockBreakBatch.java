@@ -0,0 +1,180 @@
+package net.silentchaos512.gear.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraftforge.common.ForgeHooks;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.silentchaos512.gear.SilentGear;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Breaks many blocks as a player in one operation, such as the extra blocks of an AOE tool. Each
+ * block still fires {@link net.minecraftforge.event.level.BlockEvent.BreakEvent} and uses the
+ * normal block destruction hooks, but item drops and experience are combined and spawned once at
+ * the drop position, and the player is sent a single section update packet per chunk section when
+ * the batch is {@link #finish() finished}.
+ * <p>
+ * This must only be used on the server thread.
+ */
+public final class BlockBreakBatch {
+    // The batch currently collecting item drops, if any
+    @Nullable private static BlockBreakBatch capturing;
+
+    private final ServerLevel level;
+    private final ServerPlayer player;
+    private final ItemStack tool;
+    private final BlockPos dropPos;
+
+    private final List<ItemStack> drops = new ArrayList<>();
+    private final Long2ObjectMap<ShortSet> changedSections = new Long2ObjectOpenHashMap<>();
+    private int experience;
+    private int blocksBroken;
+
+    public BlockBreakBatch(ServerLevel level, ServerPlayer player, ItemStack tool, BlockPos dropPos) {
+        this.level = level;
+        this.player = player;
+        this.tool = tool;
+        this.dropPos = dropPos.immutable();
+    }
+
+    /**
+     * Breaks the block as the player, if the break event is not canceled. Creative mode players
+     * break the block without drops.
+     *
+     * @param pos The block position
+     * @return True if the block was broken
+     */
+    public boolean breakBlock(BlockPos pos) {
+        BlockState state = level.getBlockState(pos);
+        markChanged(pos);
+
+        if (player.getAbilities().instabuild) {
+            if (state.onDestroyedByPlayer(level, pos, player, true, state.getFluidState())) {
+                state.getBlock().destroy(level, pos, state);
+                ++blocksBroken;
+                return true;
+            }
+            return false;
+        }
+
+        int xp = ForgeHooks.onBlockBreakEvent(level, player.gameMode.getGameModeForPlayer(), player, pos);
+        if (xp == -1) {
+            return false;
+        }
+
+        tool.getItem().mineBlock(tool, level, state, pos, player);
+        BlockEntity blockEntity = level.getBlockEntity(pos);
+
+        if (state.onDestroyedByPlayer(level, pos, player, true, state.getFluidState())) {
+            state.getBlock().destroy(level, pos, state);
+
+            BlockBreakBatch previous = capturing;
+            capturing = this;
+            try {
+                state.getBlock().playerDestroy(level, player, pos, state, blockEntity, tool);
+            } finally {
+                capturing = previous;
+            }
+
+            experience += xp;
+            ++blocksBroken;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds the position to the positions sent to the player when the batch finishes, without
+     * breaking it. Useful for correcting blocks the client may have predicted incorrectly.
+     *
+     * @param pos The block position
+     */
+    public void markChanged(BlockPos pos) {
+        long section = SectionPos.asLong(pos);
+        changedSections.computeIfAbsent(section, s -> new ShortOpenHashSet()).add(SectionPos.sectionRelativePos(pos));
+    }
+
+    public int getBlocksBroken() {
+        return blocksBroken;
+    }
+
+    /**
+     * Spawns the combined drops and experience, then sends the block changes to the player.
+     */
+    public void finish() {
+        for (ItemStack stack : drops) {
+            Block.popResource(level, dropPos, stack);
+        }
+        drops.clear();
+
+        if (experience > 0) {
+            level.getBlockState(dropPos).getBlock().popExperience(level, dropPos, experience);
+            experience = 0;
+        }
+
+        for (Long2ObjectMap.Entry<ShortSet> entry : changedSections.long2ObjectEntrySet()) {
+            SectionPos sectionPos = SectionPos.of(entry.getLongKey());
+            if (!level.hasChunk(sectionPos.x(), sectionPos.z())) continue;
+
+            LevelChunk chunk = level.getChunk(sectionPos.x(), sectionPos.z());
+            int sectionIndex = level.getSectionIndexFromSectionY(sectionPos.y());
+            if (sectionIndex < 0 || sectionIndex >= chunk.getSections().length) continue;
+
+            LevelChunkSection section = chunk.getSection(sectionIndex);
+            player.connection.send(new ClientboundSectionBlocksUpdatePacket(sectionPos, entry.getValue(), section));
+        }
+        changedSections.clear();
+    }
+
+    private void addDrop(ItemStack stack) {
+        for (ItemStack existing : drops) {
+            if (stack.isEmpty()) return;
+
+            if (ItemStack.isSameItemSameTags(existing, stack) && existing.getCount() < existing.getMaxStackSize()) {
+                int amount = Math.min(stack.getCount(), existing.getMaxStackSize() - existing.getCount());
+                existing.grow(amount);
+                stack.shrink(amount);
+            }
+        }
+
+        if (!stack.isEmpty()) {
+            drops.add(stack.copy());
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
+    public static final class EventHandler {
+        private EventHandler() {}
+
+        @SubscribeEvent(priority = EventPriority.HIGHEST)
+        public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+            BlockBreakBatch batch = capturing;
+            if (batch != null && event.getLevel() == batch.level && event.getEntity() instanceof ItemEntity itemEntity) {
+                // Collect the drop to be combined with the others
+                batch.addDrop(itemEntity.getItem());
+                event.setCanceled(true);
+            }
+        }
+    }
+}
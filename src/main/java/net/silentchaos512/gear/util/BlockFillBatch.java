@@ -0,0 +1,162 @@
+package net.silentchaos512.gear.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.lighting.LevelLightEngine;
+import net.minecraft.world.level.lighting.LightEngine;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Replaces many blocks with the same state in one operation, such as the area of a block filler
+ * trait. Positions are grouped by chunk section and written to the section directly, so heightmaps
+ * and lighting are only touched where something actually changed, and clients receive one section
+ * update packet per section on the next chunk broadcast instead of one packet per block.
+ * <p>
+ * Block removal and placement hooks still run, and blocks around the edge of the filled area are
+ * notified of the change. Interior blocks are not, since all of their neighbors were filled too.
+ * Blocks with block entities, and fill states with block entities or fluids, go through
+ * {@link ServerLevel#setBlock} instead.
+ * <p>
+ * This must only be used on the server thread.
+ */
+public final class BlockFillBatch {
+    private final ServerLevel level;
+    private final BlockState fillState;
+    private final Predicate<BlockState> canReplace;
+    private final boolean replaceBlockEntities;
+    private final boolean directWrite;
+
+    // Block positions to fill, by chunk section
+    private final Long2ObjectMap<LongList> pending = new Long2ObjectOpenHashMap<>();
+
+    public BlockFillBatch(ServerLevel level, BlockState fillState, Predicate<BlockState> canReplace, boolean replaceBlockEntities) {
+        this.level = level;
+        this.fillState = fillState;
+        this.canReplace = canReplace;
+        this.replaceBlockEntities = replaceBlockEntities;
+        this.directWrite = !fillState.hasBlockEntity() && fillState.getFluidState().isEmpty();
+    }
+
+    /**
+     * Adds a position to fill when the batch is {@link #finish() finished}. The block is checked
+     * again at that point.
+     *
+     * @param pos The block position
+     */
+    public void add(BlockPos pos) {
+        pending.computeIfAbsent(SectionPos.asLong(pos), s -> new LongArrayList()).add(pos.asLong());
+    }
+
+    /**
+     * Fills all added positions which can still be replaced.
+     *
+     * @return The number of blocks replaced
+     */
+    public int finish() {
+        if (pending.isEmpty()) return 0;
+
+        LongSet changed = new LongOpenHashSet();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int count = 0;
+
+        for (Long2ObjectMap.Entry<LongList> entry : pending.long2ObjectEntrySet()) {
+            count += fillSection(SectionPos.of(entry.getLongKey()), entry.getValue(), changed, pos);
+        }
+        pending.clear();
+
+        notifyNeighbors(changed, pos);
+        return count;
+    }
+
+    private int fillSection(SectionPos sectionPos, LongList positions, LongSet changed, BlockPos.MutableBlockPos pos) {
+        if (!level.hasChunk(sectionPos.x(), sectionPos.z())) return 0;
+
+        LevelChunk chunk = level.getChunk(sectionPos.x(), sectionPos.z());
+        int sectionIndex = level.getSectionIndexFromSectionY(sectionPos.y());
+        if (sectionIndex < 0 || sectionIndex >= chunk.getSections().length) return 0;
+
+        LevelChunkSection section = chunk.getSection(sectionIndex);
+        LevelLightEngine lightEngine = level.getChunkSource().getLightEngine();
+        boolean wasEmpty = section.hasOnlyAir();
+        int count = 0;
+
+        for (int i = 0; i < positions.size(); ++i) {
+            pos.set(positions.getLong(i));
+            int x = pos.getX() & 15;
+            int y = pos.getY() & 15;
+            int z = pos.getZ() & 15;
+
+            BlockState oldState = section.getBlockState(x, y, z);
+            if (oldState == fillState || !canReplace.test(oldState)) continue;
+
+            // Block hooks may keep the position (scheduled ticks, for example), so don't pass the mutable one
+            BlockPos immutable = pos.immutable();
+
+            if (oldState.hasBlockEntity() || !directWrite) {
+                if ((replaceBlockEntities || !oldState.hasBlockEntity()) && level.setBlock(immutable, fillState, Block.UPDATE_ALL_IMMEDIATE)) {
+                    ++count;
+                }
+                continue;
+            }
+
+            section.setBlockState(x, y, z, fillState);
+            for (Map.Entry<Heightmap.Types, Heightmap> heightmap : chunk.getHeightmaps()) {
+                heightmap.getValue().update(x, pos.getY(), z, fillState);
+            }
+            if (LightEngine.hasDifferentLightProperties(chunk, immutable, oldState, fillState)) {
+                lightEngine.checkBlock(immutable);
+            }
+
+            oldState.onRemove(level, immutable, fillState, false);
+            fillState.onPlace(level, immutable, oldState, false);
+            level.onBlockStateChange(immutable, oldState, fillState);
+            // Collected by the chunk holder and sent as one packet for the whole section
+            level.getChunkSource().blockChanged(immutable);
+
+            changed.add(immutable.asLong());
+            ++count;
+        }
+
+        if (count > 0) {
+            boolean isEmpty = section.hasOnlyAir();
+            if (wasEmpty != isEmpty) {
+                lightEngine.updateSectionStatus(sectionPos, isEmpty);
+            }
+            chunk.setUnsaved(true);
+        }
+
+        return count;
+    }
+
+    private void notifyNeighbors(LongSet changed, BlockPos.MutableBlockPos pos) {
+        Block block = fillState.getBlock();
+        BlockPos.MutableBlockPos neighbor = new BlockPos.MutableBlockPos();
+
+        for (long key : changed) {
+            pos.set(key);
+            for (Direction direction : Direction.values()) {
+                if (!changed.contains(neighbor.setWithOffset(pos, direction).asLong())) {
+                    BlockPos immutable = pos.immutable();
+                    level.updateNeighborsAt(immutable, block);
+                    fillState.updateNeighbourShapes(level, immutable, Block.UPDATE_CLIENTS);
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package net.silentchaos512.gear.util;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.config.Config;
+
+import java.util.*;
+
+/**
+ * Spreads large block operations (AOE tool breaking, block filling) over multiple server ticks.
+ * Each tick, every player may process a limited number of block positions, and all players
+ * together are also limited. Work that fits in the remaining budget runs immediately, so small
+ * operations behave exactly as if they were done directly.
+ * <p>
+ * Jobs for a player run in the order they were submitted. Pending jobs are canceled when the player
+ * logs out or changes dimension. This must only be used on the server thread.
+ */
+public final class BlockWorkQueue {
+    // Insertion order is used to take turns when the global budget runs out
+    private static final Map<UUID, Deque<Job>> QUEUES = new LinkedHashMap<>();
+    private static final Object2IntMap<UUID> USED_THIS_TICK = new Object2IntOpenHashMap<>();
+    private static int globalUsedThisTick;
+
+    private BlockWorkQueue() {throw new IllegalAccessError("Utility class");}
+
+    /**
+     * Submits a job for the player. The job starts right away if the player has no other pending
+     * jobs, and continues over the next ticks if it does not fit in the budget.
+     *
+     * @param job The job
+     */
+    public static void submit(Job job) {
+        UUID playerId = job.player.getUUID();
+        Deque<Job> queue = QUEUES.get(playerId);
+
+        if (queue == null || queue.isEmpty()) {
+            run(playerId, job, getRemainingBudget(playerId));
+            if (job.isDone()) {
+                return;
+            }
+        }
+
+        QUEUES.computeIfAbsent(playerId, id -> new ArrayDeque<>()).add(job);
+    }
+
+    /**
+     * Cancels all pending jobs of the player. Work already done is kept.
+     *
+     * @param playerId The player's UUID
+     */
+    public static void cancel(UUID playerId) {
+        Deque<Job> queue = QUEUES.remove(playerId);
+        if (queue != null) {
+            queue.forEach(Job::finishSlice);
+        }
+    }
+
+    public static boolean hasPendingWork(UUID playerId) {
+        Deque<Job> queue = QUEUES.get(playerId);
+        return queue != null && !queue.isEmpty();
+    }
+
+    private static int getRemainingBudget(UUID playerId) {
+        int player = Config.Common.blockWorkPerPlayerPerTick.get() - USED_THIS_TICK.getInt(playerId);
+        int global = Config.Common.blockWorkPerTick.get() - globalUsedThisTick;
+        return Math.max(0, Math.min(player, global));
+    }
+
+    private static void run(UUID playerId, Job job, int budget) {
+        if (budget <= 0) return;
+
+        int used = job.process(budget);
+        job.finishSlice();
+        USED_THIS_TICK.put(playerId, USED_THIS_TICK.getInt(playerId) + used);
+        globalUsedThisTick += used;
+    }
+
+    private static void processQueues() {
+        for (UUID playerId : new ArrayList<>(QUEUES.keySet())) {
+            if (globalUsedThisTick >= Config.Common.blockWorkPerTick.get()) {
+                // Out of budget, players which were skipped stay first in line
+                break;
+            }
+
+            Deque<Job> queue = QUEUES.remove(playerId);
+            int budget = getRemainingBudget(playerId);
+
+            while (budget > 0 && !queue.isEmpty()) {
+                Job job = queue.peek();
+                if (job.isValid()) {
+                    run(playerId, job, budget);
+                    budget = getRemainingBudget(playerId);
+                }
+                if (!job.isValid() || job.isDone()) {
+                    queue.poll();
+                }
+            }
+
+            if (!queue.isEmpty()) {
+                // Move to the back of the line
+                QUEUES.put(playerId, queue);
+            }
+        }
+    }
+
+    /**
+     * An operation on a list of block positions, which can be paused between any two positions.
+     */
+    public abstract static class Job {
+        protected final ServerLevel level;
+        protected final ServerPlayer player;
+        private final List<BlockPos> positions;
+        private int index;
+
+        protected Job(ServerLevel level, ServerPlayer player, List<BlockPos> positions) {
+            this.level = level;
+            this.player = player;
+            this.positions = positions;
+        }
+
+        /**
+         * Performs the operation on a single position.
+         *
+         * @param pos The block position
+         */
+        protected abstract void processPosition(BlockPos pos);
+
+        /**
+         * Called after each batch of positions processed in one tick, and when the job is
+         * canceled. Use this to send updates to clients and the like.
+         */
+        protected void finishSlice() {}
+
+        /**
+         * Checks if the job can continue. The job is dropped if this becomes false. Subclasses
+         * should call the super method.
+         *
+         * @return True if the job can continue
+         */
+        protected boolean isValid() {
+            return !player.isRemoved() && player.level() == level;
+        }
+
+        private boolean isDone() {
+            return index >= positions.size();
+        }
+
+        private int process(int budget) {
+            int count = 0;
+            while (count < budget && !isDone() && isValid()) {
+                processPosition(positions.get(index++));
+                ++count;
+            }
+            return count;
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
+    public static final class EventHandler {
+        private EventHandler() {}
+
+        @SubscribeEvent
+        public static void onServerTick(TickEvent.ServerTickEvent event) {
+            if (event.phase == TickEvent.Phase.START) {
+                USED_THIS_TICK.clear();
+                globalUsedThisTick = 0;
+            } else if (!QUEUES.isEmpty()) {
+                processQueues();
+            }
+        }
+
+        @SubscribeEvent
+        public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+            cancel(event.getEntity().getUUID());
+        }
+
+        @SubscribeEvent
+        public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+            cancel(event.getEntity().getUUID());
+        }
+
+        @SubscribeEvent
+        public static void onServerStopping(ServerStoppingEvent event) {
+            QUEUES.clear();
+            USED_THIS_TICK.clear();
+            globalUsedThisTick = 0;
+        }
+    }
+}
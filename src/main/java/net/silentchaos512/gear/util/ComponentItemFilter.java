@@ -0,0 +1,99 @@
+package net.silentchaos512.gear.util;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.silentchaos512.gear.api.material.IMaterial;
+import net.silentchaos512.gear.api.part.IGearPart;
+import net.silentchaos512.gear.api.part.PartType;
+import net.silentchaos512.gear.gear.material.MaterialManager;
+import net.silentchaos512.gear.gear.part.PartManager;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Quickly rejects items which cannot possibly be a material, a part, or a part substitute, so
+ * code which runs for every item in the game (like tooltips) can skip the much slower lookups in
+ * {@link MaterialManager#from(ItemStack)} and {@link net.silentchaos512.gear.gear.part.PartData#from(ItemStack)}.
+ * <p>
+ * The filter is built lazily from the items of every material, part, and part substitute
+ * ingredient, and is rebuilt after {@link #invalidate()} is called. Non-simple ingredients (NBT or
+ * other custom logic) may list only some of the items they match, so those are always tested
+ * directly.
+ */
+public final class ComponentItemFilter {
+    @Nullable private static volatile Filter filter;
+
+    private ComponentItemFilter() {throw new IllegalAccessError("Utility class");}
+
+    /**
+     * Discards the filter. Called whenever materials, parts, their ingredients, or tags change.
+     */
+    public static void invalidate() {
+        filter = null;
+    }
+
+    /**
+     * Checks if the item could be a material, part, or part substitute. False results are always
+     * correct, but true results still need to be checked.
+     *
+     * @param stack The item
+     * @return False if the item is definitely not a material, part, or part substitute
+     */
+    public static boolean mightBeComponent(ItemStack stack) {
+        if (stack.isEmpty()) return false;
+
+        Filter ret = filter;
+        if (ret == null) {
+            ret = Filter.build();
+            filter = ret;
+        }
+        if (ret.items.get(BuiltInRegistries.ITEM.getId(stack.getItem()))) {
+            return true;
+        }
+        for (Ingredient ingredient : ret.customIngredients) {
+            if (ingredient.test(stack)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Filter {
+        // Items of simple ingredients
+        private final BitSet items = new BitSet();
+        // Ingredients which cannot be trusted to list every item they match
+        private final List<Ingredient> customIngredients = new ArrayList<>();
+
+        private static Filter build() {
+            Filter ret = new Filter();
+
+            for (IMaterial material : MaterialManager.getValues()) {
+                ret.add(material.getIngredient());
+                if (material.hasPartSubstitutes()) {
+                    for (PartType partType : PartType.getValues()) {
+                        material.getPartSubstitute(partType).ifPresent(ret::add);
+                    }
+                }
+            }
+            for (IGearPart part : PartManager.getValues()) {
+                ret.add(part.getIngredient());
+            }
+
+            return ret;
+        }
+
+        private void add(Ingredient ingredient) {
+            if (!ingredient.isSimple()) {
+                this.customIngredients.add(ingredient);
+                return;
+            }
+            for (ItemStack stack : ingredient.getItems()) {
+                this.items.set(BuiltInRegistries.ITEM.getId(stack.getItem()));
+            }
+        }
+    }
+}
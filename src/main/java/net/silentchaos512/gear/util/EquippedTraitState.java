@@ -0,0 +1,224 @@
+package net.silentchaos512.gear.util;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.fml.common.Mod;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.compat.curios.CuriosCompat;
+import net.silentchaos512.gear.gear.trait.TraitManager;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The highest trait levels on the items a player has equipped, grouped by hands, armor, and
+ * curios. This is only recalculated after the player's equipment changes, so checking equipped
+ * traits every tick does not require scanning every slot.
+ * <p>
+ * {@link LivingEquipmentChangeEvent} is only fired on the server, so client states check if the
+ * equipped stacks (or their tags) were replaced since the last recalculation instead, at most
+ * once per tick. Equipment updates from the server always replace the client's stacks, so this
+ * only compares references.
+ */
+public final class EquippedTraitState {
+    // Weak keys, so client and server players get separate states and players that are gone are forgotten
+    private static final Map<Player, EquippedTraitState> STATES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final EquipmentSlot[] SLOTS = EquipmentSlot.values();
+
+    private final byte[][] slotLevels = new byte[SLOTS.length][];
+    private byte[] handLevels = new byte[0];
+    private byte[] armorLevels = new byte[0];
+    private byte[] curioLevels = new byte[0];
+    // All listed traits (including level 0), see TraitHelper#hasTraitEitherHand
+    private BitSet handListed = new BitSet();
+    private BitSet armorListed = new BitSet();
+    private volatile boolean dirty = true;
+    // Client only, see checkEquipment
+    private final ItemStack[] equipped = new ItemStack[SLOTS.length];
+    private final CompoundTag[] equippedTags = new CompoundTag[SLOTS.length];
+    private List<ItemStack> equippedCurios = Collections.emptyList();
+    private int lastCheckedTick = -1;
+
+    private EquippedTraitState() {}
+
+    /**
+     * Gets the equipped trait state for the player, recalculating it first if the player's
+     * equipment has changed.
+     *
+     * @param player The player
+     * @return The up-to-date state
+     */
+    public static EquippedTraitState get(Player player) {
+        EquippedTraitState state = STATES.computeIfAbsent(player, p -> new EquippedTraitState());
+        if (!state.dirty && player.level().isClientSide) {
+            state.checkEquipment(player);
+        }
+        if (state.dirty) {
+            state.recalculate(player);
+        }
+        return state;
+    }
+
+    /**
+     * Marks the player's state to be recalculated the next time it is needed.
+     *
+     * @param player The player whose equipment changed
+     */
+    public static void markDirty(Player player) {
+        EquippedTraitState state = STATES.get(player);
+        if (state != null) {
+            state.dirty = true;
+        }
+    }
+
+    /**
+     * Marks all states to be recalculated. Called when traits are reloaded, since trait ordinals
+     * may have changed.
+     */
+    public static void markAllDirty() {
+        synchronized (STATES) {
+            STATES.values().forEach(state -> state.dirty = true);
+        }
+    }
+
+    private void checkEquipment(Player player) {
+        if (player.tickCount == this.lastCheckedTick) return;
+        this.lastCheckedTick = player.tickCount;
+
+        for (EquipmentSlot slot : SLOTS) {
+            ItemStack stack = player.getItemBySlot(slot);
+            if (stack != this.equipped[slot.ordinal()] || stack.getTag() != this.equippedTags[slot.ordinal()]) {
+                this.dirty = true;
+                return;
+            }
+        }
+
+        if (ModList.get().isLoaded(Const.CURIOS) && !CuriosCompat.isSameEquippedCurios(player, this.equippedCurios)) {
+            this.dirty = true;
+        }
+    }
+
+    private void recalculate(Player player) {
+        // Clear the flag first, so a change during recalculation is not lost
+        this.dirty = false;
+        final int count = TraitManager.getOrdinalCount();
+
+        for (EquipmentSlot slot : SLOTS) {
+            byte[] levels = new byte[count];
+            ItemStack stack = player.getItemBySlot(slot);
+            if (GearHelper.isGear(stack)) {
+                GearView.of(stack).mergeHighestTraitLevels(levels);
+            }
+            this.slotLevels[slot.ordinal()] = levels;
+            if (player.level().isClientSide) {
+                this.equipped[slot.ordinal()] = stack;
+                this.equippedTags[slot.ordinal()] = stack.getTag();
+            }
+        }
+
+        this.handLevels = new byte[count];
+        this.armorLevels = new byte[count];
+        this.handListed = new BitSet();
+        this.armorListed = new BitSet();
+        for (EquipmentSlot slot : SLOTS) {
+            boolean hand = slot.getType() == EquipmentSlot.Type.HAND;
+            mergeHighest(this.slotLevels[slot.ordinal()], hand ? this.handLevels : this.armorLevels);
+            ItemStack stack = player.getItemBySlot(slot);
+            if (GearHelper.isGear(stack)) {
+                GearView.of(stack).mergeListedTraits(hand ? this.handListed : this.armorListed);
+            }
+        }
+
+        this.curioLevels = new byte[count];
+        if (ModList.get().isLoaded(Const.CURIOS)) {
+            Collection<ItemStack> curios = CuriosCompat.getEquippedCurios(player);
+            for (ItemStack stack : curios) {
+                GearView.of(stack).mergeHighestTraitLevels(this.curioLevels);
+            }
+            if (player.level().isClientSide) {
+                this.equippedCurios = List.copyOf(curios);
+            }
+        }
+    }
+
+    private static void mergeHighest(byte[] source, byte[] target) {
+        for (int i = 0; i < target.length; ++i) {
+            if (source[i] > target[i]) {
+                target[i] = source[i];
+            }
+        }
+    }
+
+    private static int getLevel(byte[] levels, ResourceLocation traitId) {
+        int ordinal = TraitManager.getOrdinal(traitId);
+        return ordinal >= 0 && ordinal < levels.length ? levels[ordinal] : 0;
+    }
+
+    public int getTraitLevel(EquipmentSlot slot, ResourceLocation traitId) {
+        return getLevel(this.slotLevels[slot.ordinal()], traitId);
+    }
+
+    public int getHighestLevelEitherHand(ResourceLocation traitId) {
+        return getLevel(this.handLevels, traitId);
+    }
+
+    public int getHighestLevelArmor(ResourceLocation traitId) {
+        return getLevel(this.armorLevels, traitId);
+    }
+
+    public int getHighestLevelCurio(ResourceLocation traitId) {
+        return getLevel(this.curioLevels, traitId);
+    }
+
+    /**
+     * Checks if an item in either hand lists the trait at any level. Traits which are not loaded
+     * are never found, since they have no ordinal.
+     *
+     * @param traitId The trait ID
+     * @return True if either hand item has an entry for the trait
+     */
+    public boolean isListedEitherHand(ResourceLocation traitId) {
+        int ordinal = TraitManager.getOrdinal(traitId);
+        return ordinal >= 0 && this.handListed.get(ordinal);
+    }
+
+    /**
+     * Checks if an armor item lists the trait at any level. Traits which are not loaded are never
+     * found, since they have no ordinal.
+     *
+     * @param traitId The trait ID
+     * @return True if any armor item has an entry for the trait
+     */
+    public boolean isListedArmor(ResourceLocation traitId) {
+        int ordinal = TraitManager.getOrdinal(traitId);
+        return ordinal >= 0 && this.armorListed.get(ordinal);
+    }
+
+    @Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
+    public static final class EventHandler {
+        private EventHandler() {}
+
+        @SubscribeEvent
+        public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+            if (event.getEntity() instanceof Player player) {
+                markDirty(player);
+            }
+        }
+
+        @SubscribeEvent
+        public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+            STATES.remove(event.getEntity());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.minecraft.world.item.ItemStack;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.utils.Color;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Caches the tint colors of gear items by model key and tint index. Items with the same model key
+ * are built from the same parts and materials, so they always have the same colors. This is shared
+ * by the item color handlers of all gear items and by armor model colors, and is cleared when
+ * resources are reloaded.
+ * <p>
+ * Armor colors are also requested on the server (dyeing armor calls {@code getColor}), so this
+ * must not reference any client-only classes.
+ */
+public final class GearColorCache {
+    /**
+     * Tint index used for the color of armor models (see {@code GearArmorItem#getColor}), which is
+     * not an item model layer.
+     */
+    public static final int ARMOR_MODEL = -1;
+
+    private static final Cache<Key, Integer> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(4096)
+            .expireAfterAccess(5, TimeUnit.MINUTES)
+            .build();
+
+    private GearColorCache() {throw new IllegalAccessError("Utility class");}
+
+    /**
+     * Gets the color of a layer, calculating it with {@code color} if it is not cached.
+     *
+     * @param stack     The gear item
+     * @param tintIndex The tint index, or {@link #ARMOR_MODEL}
+     * @param color     Calculates the color on a cache miss
+     * @return The color of the layer
+     */
+    public static int getColor(ItemStack stack, int tintIndex, IntSupplier color) {
+        Key key = new Key(GearData.getModelKey(stack, 0), tintIndex);
+        try {
+            return CACHE.get(key, color::getAsInt);
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            SilentGear.LOGGER.catching(ex);
+        }
+        return Color.VALUE_WHITE;
+    }
+
+    /**
+     * Discards all cached colors. Called when resources (including material and part models) are
+     * reloaded.
+     */
+    public static void invalidate() {
+        CACHE.invalidateAll();
+    }
+
+    private record Key(String modelKey, int tintIndex) {}
+}
@@ -5,7 +5,6 @@ import net.minecraft.CrashReportCategory;
 import net.minecraft.ReportedException;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
@@ -37,7 +36,6 @@ import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.gear.part.CompoundPart;
 import net.silentchaos512.gear.gear.part.PartData;
-import net.silentchaos512.gear.gear.part.PartManager;
 import net.silentchaos512.gear.gear.trait.EnchantmentTrait;
 import net.silentchaos512.gear.item.CompoundPartItem;
 import net.silentchaos512.gear.network.Network;
@@ -117,6 +115,7 @@ public final class GearData {
         if (checkNonGearItem(gear, "recalculateStats")) return;
 
         getUUID(gear);
+        GearView.invalidate(gear);
 
         TraitHelper.activateTraits(gear, 0f, (trait, level, value) -> {
             trait.onRecalculatePre(new TraitActionContext(player, level, gear));
@@ -148,8 +147,10 @@ public final class GearData {
             Tier harvestTier = TierHelper.getHighestTier(parts);
             propertiesCompound.putString(NBT_HARVEST_TIER, TierSortingRegistry.getName(harvestTier).toString());
 
-            // Get all stat modifiers from all parts and item class modifiers
-            StatModifierMap stats = getStatModifiers(gear, item, parts);
+            // Get all stat modifiers from all parts and item class modifiers. Work from the last
+            // recalculation is reused where nothing has changed.
+            GearStatMemo.Recalculation memo = GearStatMemo.begin(getUUID(gear), item.getGearType());
+            StatModifierMap stats = getStatModifiers(gear, item, parts, memo);
 
             // For debugging
             Map<ItemStat, Float> oldStatValues = getCurrentStatsForDebugging(gear);
@@ -158,6 +159,7 @@ public final class GearData {
             ListTag traitList = new ListTag();
             traits.forEach((trait, level) -> traitList.add(trait.write(level)));
             propertiesCompound.put("Traits", traitList);
+            GearView.invalidate(gear);
 
             propertiesCompound.remove(NBT_SYNERGY);
 
@@ -170,11 +172,13 @@ public final class GearData {
                 Collection<StatInstance> modifiers = stats.get(key);
                 GearType statGearType = stats.getMostSpecificKey(key).getGearType();
 
-                final float initialValue = stat.compute(stat.getBaseValue(), true, item.getGearType(), statGearType, modifiers);
-                // Allow traits to modify stat
-                final float withTraits = TraitHelper.activateTraits(gear, initialValue, (trait, level, val) -> {
-                    TraitActionContext context = new TraitActionContext(player, level, gear);
-                    return trait.onGetStat(context, stat, val, damageRatio);
+                final float withTraits = memo.getStatWithTraits(stat, modifiers, statGearType, traits, damageRatio, player, () -> {
+                    final float initialValue = stat.compute(stat.getBaseValue(), true, item.getGearType(), statGearType, modifiers);
+                    // Allow traits to modify stat
+                    return TraitHelper.activateTraits(gear, initialValue, (trait, level, val) -> {
+                        TraitActionContext context = new TraitActionContext(player, level, gear);
+                        return trait.onGetStat(context, stat, val, damageRatio);
+                    });
                 });
                 final float value = Config.Common.getStatWithMultiplier(stat, withTraits);
                 if (!Mth.equal(value, 0f) || stats.containsKey(key)) {
@@ -191,6 +195,8 @@ public final class GearData {
                 }
             }
             propertiesCompound.put(NBT_STATS, statsCompound);
+            GearView.invalidate(gear);
+            memo.finish();
 
             if (player != null) {
                 printStatsForDebugging(gear, stats, oldStatValues);
@@ -305,15 +311,44 @@ public final class GearData {
         return stats;
     }
 
+    private static StatModifierMap getStatModifiers(ItemStack stack, ICoreItem item, PartDataList parts, GearStatMemo.Recalculation memo) {
+        GearType gearType = item.getGearType();
+        StatModifierMap stats = new StatModifierMap();
+        List<Map<ItemStat, Collection<StatInstance>>> partModifiers = memo.getPartModifierMaps(parts);
+
+        for (ItemStat stat : ItemStats.allStatsOrderedExcluding(item.getExcludedStats(stack))) {
+            StatGearKey itemKey = StatGearKey.of(stat, gearType);
+
+            for (int i = 0; i < parts.size(); ++i) {
+                PartData part = parts.get(i);
+                // Calculated unless the part can reuse its modifiers from the last recalculation
+                Collection<StatInstance> mods = memo.getPartModifiers(partModifiers.get(i), stat, () -> {
+                    List<StatInstance> list = new ArrayList<>();
+                    for (StatInstance mod : part.getStatModifiers(itemKey, stack)) {
+                        list.add(StatInstance.of(mod.getValue(), mod.getOp(), itemKey));
+                    }
+                    return list;
+                });
+
+                for (StatInstance mod : mods) {
+                    stats.put(mod.getKey(), mod);
+                }
+            }
+        }
+
+        return stats;
+    }
+
     public static float getStat(ItemStack stack, IItemStat stat) {
         return getStat(stack, stat, true);
     }
 
     public static float getStat(ItemStack stack, IItemStat stat, boolean calculateIfMissing) {
-        CompoundTag tags = getData(stack, NBT_ROOT_PROPERTIES).getCompound(NBT_STATS);
-        String key = stat.getStatId().toString();
-        if (tags.contains(key)) {
-            return tags.getFloat(key);
+        if (checkNonGearItem(stack, "getStat")) return stat.getDefaultValue();
+
+        Float value = GearView.of(stack).getStat(stat.getStatId());
+        if (value != null) {
+            return value;
         }
 
         if (calculateIfMissing) {
@@ -340,6 +375,7 @@ public final class GearData {
         String key = stat.getStatId().toString();
         if (!tags.contains(key)) {
             tags.putFloat(key, stat.getDefaultValue());
+            GearView.invalidate(stack);
         }
     }
 
@@ -354,22 +390,8 @@ public final class GearData {
     public static PartDataList getConstructionParts(ItemStack stack) {
         if (!GearHelper.isGear(stack)) return PartDataList.empty();
 
-        CompoundTag tags = getData(stack, NBT_ROOT_CONSTRUCTION);
-        ListTag tagList = tags.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND);
-        PartDataList list = PartDataList.of();
-
-        for (Tag nbt : tagList) {
-            if (nbt instanceof CompoundTag) {
-                CompoundTag partCompound = (CompoundTag) nbt;
-                PartData part = PartData.read(partCompound);
-
-                if (part != null) {
-                    list.add(part);
-                }
-            }
-        }
-
-        return list;
+        // Copy, callers are allowed to modify the list
+        return PartDataList.of(GearView.of(stack).getParts());
     }
 
     @Deprecated
@@ -386,18 +408,7 @@ public final class GearData {
     public static int getTier(ItemStack gear) {
         if (!GearHelper.isGear(gear)) return -1;
 
-        CompoundTag data = getData(gear, NBT_ROOT_CONSTRUCTION);
-        if (!data.contains(NBT_TIER)) {
-            List<PartData> parts = getConstructionParts(gear).getMains();
-            int max = 0;
-            for (PartData part : parts) {
-                if (part.getTier() > max) {
-                    max = part.getTier();
-                }
-            }
-            data.putInt(NBT_TIER, max);
-        }
-        return data.getInt(NBT_TIER);
+        return GearView.of(gear).getTier();
     }
 
     public static Tier getHarvestTier(ItemStack gear) {
@@ -496,19 +507,9 @@ public final class GearData {
      */
     @Nullable
     public static PartData getPartOfType(ItemStack stack, PartType type) {
-        CompoundTag tags = getData(stack, NBT_ROOT_CONSTRUCTION);
-        ListTag tagList = tags.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND);
-
-        for (int i = 0; i < tagList.size(); ++i) {
-            CompoundTag nbt = tagList.getCompound(i);
-            PartData part = PartData.read(nbt);
+        if (checkNonGearItem(stack, "getPartOfType")) return null;
 
-            if (part != null && part.getType() == type) {
-                return part;
-            }
-        }
-
-        return null;
+        return GearView.of(stack).getPartOfType(type);
     }
 
     /**
@@ -519,20 +520,9 @@ public final class GearData {
      * @return True if and only if the construction parts include a part of the given type
      */
     public static boolean hasPartOfType(ItemStack stack, PartType type) {
-        CompoundTag tags = getData(stack, NBT_ROOT_CONSTRUCTION);
-        ListTag tagList = tags.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND);
-
-        for (int i = 0; i < tagList.size(); ++i) {
-            CompoundTag nbt = tagList.getCompound(i);
-            String key = nbt.getString("ID");
-            IGearPart part = PartManager.get(key);
+        if (checkNonGearItem(stack, "hasPartOfType")) return false;
 
-            if (part != null && part.getType() == type) {
-                return true;
-            }
-        }
-
-        return false;
+        return GearView.of(stack).getPartOfType(type) != null;
     }
 
     /**
@@ -573,7 +563,7 @@ public final class GearData {
     }
 
     public static boolean hasPart(ItemStack gear, PartType partType, Predicate<PartData> predicate) {
-        for (PartData partData : getConstructionParts(gear)) {
+        for (PartData partData : GearView.of(gear).getParts()) {
             if (predicate.test(partData)) {
                 return true;
             }
@@ -582,8 +572,8 @@ public final class GearData {
     }
 
     /**
-     * Determine if the gear has the specified part. This scans the construction NBT directly for
-     * speed, no part data list is created. Compares part registry names only.
+     * Determine if the gear has the specified part. This checks the cached {@link GearView}, no
+     * part data list is created. Compares part registry names only.
      *
      * @param gear The gear item
      * @param part The part to check for
@@ -592,13 +582,12 @@ public final class GearData {
     public static boolean hasPart(ItemStack gear, IGearPart part) {
         if (checkNonGearItem(gear, "hasPart")) return false;
 
-        String partId = part.getId().toString();
-        return hasPart(gear, partId);
+        return GearView.of(gear).hasPart(part.getId());
     }
 
     /**
-     * Determine if the gear has the specified part. This scans the construction NBT directly for
-     * speed, no part data list is created. Compares part registry names only.
+     * Determine if the gear has the specified part. This checks the cached {@link GearView}, no
+     * part data list is created. Compares part registry names only.
      *
      * @param gear The gear item
      * @param part The part to check for
@@ -607,25 +596,7 @@ public final class GearData {
     public static boolean hasPart(ItemStack gear, DataResource<IGearPart> part) {
         if (checkNonGearItem(gear, "hasPart")) return false;
 
-        String partId = part.getId().toString();
-        return hasPart(gear, partId);
-    }
-
-    private static boolean hasPart(ItemStack gear, String partId) {
-        CompoundTag tags = getData(gear, NBT_ROOT_CONSTRUCTION);
-        ListTag tagList = tags.getList(NBT_CONSTRUCTION_PARTS, Tag.TAG_COMPOUND);
-
-        for (Tag nbt : tagList) {
-            if (nbt instanceof CompoundTag) {
-                CompoundTag partCompound = (CompoundTag) nbt;
-                String partKey = partCompound.getString(PartData.NBT_ID);
-                if (partKey.equals(partId)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return GearView.of(gear).hasPart(part.getId());
     }
 
     public static Optional<PartData> addOrReplacePart(ItemStack gear, PartData part) {
@@ -713,6 +684,7 @@ public final class GearData {
                 .forEach(tagList::add);
 
         tags.put(NBT_CONSTRUCTION_PARTS, tagList);
+        GearView.invalidate(gear);
     }
 
     //endregion
@@ -735,6 +707,15 @@ public final class GearData {
         return tags.getUUID(NBT_UUID);
     }
 
+    /**
+     * Gives the item a new UUID, so a copy of an item is treated as a separate item.
+     *
+     * @param gear ItemStack of an ICoreItem
+     */
+    static void resetUUID(ItemStack gear) {
+        gear.getOrCreateTag().putUUID(NBT_UUID, UUID.randomUUID());
+    }
+
     private static CompoundTag getData(ItemStack gear, String compoundKey) {
         if (checkNonGearItem(gear, "getData")) return new CompoundTag();
 
@@ -18,40 +18,98 @@
 
 package net.silentchaos512.gear.util;
 
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
 import net.minecraft.world.item.ItemStack;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.item.ICoreTool;
+import net.silentchaos512.gear.api.material.IMaterial;
 import net.silentchaos512.gear.api.part.IGearPart;
 import net.silentchaos512.gear.api.part.PartDataList;
 import net.silentchaos512.gear.api.part.PartType;
+import net.silentchaos512.gear.api.util.PartGearKey;
+import net.silentchaos512.gear.gear.material.MaterialInstance;
+import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.gear.part.PartData;
 import net.silentchaos512.gear.gear.part.PartManager;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Creates gear items with random parts and materials, for loot and commands. The materials and
+ * parts which can be picked for each gear type, part type, and tier are collected once and kept
+ * until materials, parts, or tags change, so picking one is just a random index.
+ */
 public final class GearGenerator {
+    // Materials which random compound parts can be made of, by gear type, part type, and tier
+    private static final Map<MaterialTableKey, List<IMaterial>> MATERIAL_TABLES = new ConcurrentHashMap<>();
+    // The compound part (if any) used for each gear type and part type
+    private static final Map<PartGearKey, Optional<IGearPart>> COMPOUND_PARTS = new ConcurrentHashMap<>();
+
     private GearGenerator() {
         throw new IllegalAccessError("Utility class");
     }
 
+    /**
+     * Discards the sampling tables. Called whenever materials, parts, or tags change.
+     */
+    public static void invalidate() {
+        MATERIAL_TABLES.clear();
+        COMPOUND_PARTS.clear();
+    }
+
+    /**
+     * Gets the materials a random compound part can be made of. For tier zero, child materials are
+     * included. For other tiers, only root materials are included, and a random child may be picked
+     * after that.
+     *
+     * @param gearType The gear type
+     * @param partType The part type
+     * @param tier     The material tier, or -1 for any tier
+     * @return The materials, which may be empty. The list is shared and cannot be modified.
+     */
+    public static List<IMaterial> getRandomMaterialCandidates(GearType gearType, PartType partType, int tier) {
+        MaterialTableKey key = new MaterialTableKey(gearType, partType, Math.max(tier, -1));
+        return MATERIAL_TABLES.computeIfAbsent(key, GearGenerator::buildMaterialTable);
+    }
+
+    private static List<IMaterial> buildMaterialTable(MaterialTableKey key) {
+        List<IMaterial> candidates = key.tier() < 0
+                ? MaterialManager.getValues(false)
+                : MaterialManager.getValues(key.partType(), key.tier(), key.tier() == 0);
+
+        ImmutableList.Builder<IMaterial> ret = ImmutableList.builder();
+        for (IMaterial material : candidates) {
+            MaterialInstance inst = MaterialInstance.of(material);
+            if (inst.allowedInPart(key.partType()) && inst.isCraftingAllowed(key.partType(), key.gearType())) {
+                ret.add(material);
+            }
+        }
+        return ret.build();
+    }
+
+    private static Optional<IGearPart> getCompoundPart(GearType gearType, PartType partType) {
+        return COMPOUND_PARTS.computeIfAbsent(PartGearKey.of(gearType, partType), key ->
+                partType.getCompoundPartItem(gearType).map(item -> PartManager.from(new ItemStack(item))));
+    }
+
     public static Optional<PartData> getRandomPart(GearType gearType, PartType type) {
         return getRandomPart(gearType, type, -1);
     }
 
     public static Optional<PartData> getRandomPart(GearType gearType, PartType partType, final int partTier) {
-        Optional<PartData> optional = partType.getCompoundPartItem(gearType)
-                .map(item -> PartManager.from(new ItemStack(item)))
+        Optional<PartData> optional = getCompoundPart(gearType, partType)
                 .map(part -> part.randomizeData(gearType, partTier));
 
         if (!optional.isPresent()) {
             // No compound part available? Try to find a simple part.
-            List<IGearPart> partsOfTier = PartManager.getValues().stream()
-                    .filter(part -> partTier == -1 || partTier == part.getTier())
-                    .collect(Collectors.toList());
+            Collection<IGearPart> candidates = partTier == -1 ? PartManager.getValues() : PartManager.getPartsOfTier(partTier);
+            List<IGearPart> partsOfTier = ImmutableList.copyOf(candidates);
 
             if (!partsOfTier.isEmpty()) {
                 IGearPart random = partsOfTier.get(SilentGear.RANDOM.nextInt(partsOfTier.size()));
@@ -75,7 +133,35 @@ public final class GearGenerator {
         return randomizeParts(new ItemStack(item), tier);
     }
 
+    /**
+     * Creates a number of random gear items of the same item and tier, for loot and structures
+     * which need many at once. Stats are only calculated once for each distinct combination of
+     * parts, items with the same parts are copies (with their own UUIDs).
+     *
+     * @param item  The gear item
+     * @param tier  The part tier
+     * @param count The number of items to create
+     * @return The created items. Failed items are left out, so there may be fewer than count.
+     */
+    public static List<ItemStack> createAll(ICoreItem item, int tier, int count) {
+        List<ItemStack> ret = new ArrayList<>(count);
+        Map<ListTag, ItemStack> created = new HashMap<>();
+        ItemStack stack = new ItemStack(item);
+
+        for (int i = 0; i < count; ++i) {
+            ItemStack result = randomizeParts(stack, tier, created);
+            if (!result.isEmpty()) {
+                ret.add(result);
+            }
+        }
+        return ret;
+    }
+
     public static ItemStack randomizeParts(ItemStack stack, int tier) {
+        return randomizeParts(stack, tier, null);
+    }
+
+    private static ItemStack randomizeParts(ItemStack stack, int tier, @Nullable Map<ListTag, ItemStack> created) {
         if (!(stack.getItem() instanceof ICoreItem)) {
             throw new RuntimeException("Called GearGenerator.randomizeParts on non-gear");
         }
@@ -91,18 +177,44 @@ public final class GearGenerator {
             return ItemStack.EMPTY;
         }
 
-        ItemStack result = stack.copy();
-        GearData.writeConstructionParts(result, parts);
-
         // Apply some random upgrades?
+        PartData upgrade = null;
         if (item instanceof ICoreTool && tier > 1 && SilentGear.RANDOM.nextFloat() < 0.2f * tier + 0.1f) {
-            getRandomPart(gearType, PartType.TIP, tier).ifPresent(part ->
-                    GearData.addUpgradePart(result, part));
+            upgrade = getRandomPart(gearType, PartType.TIP, tier).orElse(null);
+        }
+
+        ListTag key = null;
+        if (created != null) {
+            key = new ListTag();
+            for (PartData part : parts) {
+                key.add(part.write(new CompoundTag()));
+            }
+            if (upgrade != null) {
+                key.add(upgrade.write(new CompoundTag()));
+            }
+
+            ItemStack same = created.get(key);
+            if (same != null) {
+                ItemStack result = same.copy();
+                GearData.resetUUID(result);
+                return result;
+            }
+        }
+
+        ItemStack result = stack.copy();
+        GearData.writeConstructionParts(result, parts);
+        if (upgrade != null) {
+            GearData.addUpgradePart(result, upgrade);
         }
 
         GearData.recalculateStats(result, null);
         parts.forEach(p -> p.onAddToGear(result));
 
+        if (key != null) {
+            created.put(key, result.copy());
+        }
         return result;
     }
+
+    private record MaterialTableKey(GearType gearType, PartType partType, int tier) {}
 }
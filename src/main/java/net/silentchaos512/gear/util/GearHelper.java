@@ -57,6 +57,7 @@ import net.silentchaos512.lib.advancements.LibTriggers;
 import org.apache.commons.compress.utils.Lists;
 
 import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -80,6 +81,9 @@ public final class GearHelper {
     private static final float BROKEN_ATTACK_SPEED_CHANGE = 0.7f;
     private static final float BROKEN_DESTROY_SPEED = 0.25f;
 
+    // The last extra reach target found on the client, shared by the HUD and attacks
+    @Nullable private static volatile ExtraReachTarget lastClientReachTarget;
+
     private GearHelper() {}
 
     public static Optional<ICoreItem> getItem(ItemStack gear) {
@@ -481,7 +485,7 @@ public final class GearHelper {
     public static void inventoryTick(ItemStack stack, Level world, Entity entity, int itemSlot, boolean isSelected) {
         if (!world.isClientSide) {
             @Nullable Player player = entity instanceof Player ? (Player) entity : null;
-            TraitHelper.tickTraits(world, player, stack, isSelected);
+            TraitTickScheduler.tick(world, player, stack, isSelected);
         }
     }
 
@@ -541,7 +545,40 @@ public final class GearHelper {
     @Nullable
     private static Entity tryAttackWithExtraReach(Player player, boolean simulate) {
         // Attempt to attack something if wielding a weapon with increased melee range
+        Entity entity = getExtraReachTarget(player);
+        if (entity != null && !simulate) {
+            player.attack(entity);
+        }
+        return entity;
+    }
+
+    @Nullable
+    private static Entity getExtraReachTarget(Player player) {
         double range = getAttackRange(player);
+        if (range <= ItemStats.ATTACK_REACH.getBaseValue()) {
+            // No reach bonus, so there is nothing vanilla would not have found already
+            return null;
+        }
+
+        if (!player.level().isClientSide) {
+            return findExtraReachTarget(player, range);
+        }
+
+        // The HUD checks this every frame, so reuse the target found earlier in the same tick
+        long gameTime = player.level().getGameTime();
+        ItemStack stack = player.getMainHandItem();
+        ExtraReachTarget cached = lastClientReachTarget;
+        if (cached != null && cached.matches(player, gameTime, stack)) {
+            return cached.target.get();
+        }
+
+        Entity entity = findExtraReachTarget(player, range);
+        lastClientReachTarget = new ExtraReachTarget(player, gameTime, stack, entity);
+        return entity;
+    }
+
+    @Nullable
+    private static Entity findExtraReachTarget(Player player, double range) {
         Vec3 vector3d = player.getEyePosition(0f);
         double rangeSquared = range * range;
 
@@ -553,15 +590,29 @@ public final class GearHelper {
             return !entity.isSpectator() && entity.isPickable();
         }, rangeSquared);
 
-        if (rayTrace != null) {
-            Entity entity = rayTrace.getEntity();
-            if (!simulate) {
-                player.attack(entity);
-            }
-            return entity;
+        return rayTrace != null ? rayTrace.getEntity() : null;
+    }
+
+    private static final class ExtraReachTarget {
+        private final WeakReference<Player> player;
+        private final long gameTime;
+        private final WeakReference<ItemStack> stack;
+        private final WeakReference<Entity> target;
+
+        private ExtraReachTarget(Player player, long gameTime, ItemStack stack, @Nullable Entity target) {
+            this.player = new WeakReference<>(player);
+            this.gameTime = gameTime;
+            this.stack = new WeakReference<>(stack);
+            this.target = new WeakReference<>(target);
         }
 
-        return null;
+        private boolean matches(Player player, long gameTime, ItemStack stack) {
+            Entity entity = this.target.get();
+            return this.gameTime == gameTime
+                    && this.player.get() == player
+                    && this.stack.get() == stack
+                    && (entity == null || !entity.isRemoved());
+        }
     }
 
     private static double getAttackRange(LivingEntity entity) {
@@ -0,0 +1,242 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.entity.player.Player;
+import net.silentchaos512.gear.api.item.GearType;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.StatInstance;
+import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.gear.part.PartData;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the intermediate results of a gear item's last stat recalculation, so the next
+ * recalculation only redoes the work affected by what changed. Only work which is declared
+ * reusable is remembered:
+ * <ul>
+ *     <li>The stat modifiers of a part are reused if its NBT is unchanged, but only for parts which
+ *     opt in with {@link net.silentchaos512.gear.api.part.IGearPart#canReuseStatModifiers()}.
+ *     Other parts are asked for their modifiers every time, so stat modifier events are still
+ *     posted and gear-dependent modifiers (synergy, for example) stay up to date.</li>
+ *     <li>The trait-modified value of a stat is reused if its modifiers, the traits which can
+ *     modify it, and the values given to those traits are unchanged, but only if every one of
+ *     those traits opts in with {@link ITrait#canReuseStatValue(ItemStat)}.</li>
+ * </ul>
+ * As long as parts and traits which opt in follow those contracts, the results are the same as a
+ * full recalculation.
+ * <p>
+ * Memos are keyed by the gear's UUID, which is copied along with the item, so the result of a
+ * recipe can reuse the work done for the original item. A memo is not modified once stored, each
+ * recalculation builds a new one.
+ */
+public final class GearStatMemo {
+    private static final Cache<UUID, GearStatMemo> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final GearType gearType;
+    private final List<PartEntry> parts;
+    private final Map<ItemStat, StatEntry> stats;
+
+    private GearStatMemo(GearType gearType, List<PartEntry> parts, Map<ItemStat, StatEntry> stats) {
+        this.gearType = gearType;
+        this.parts = parts;
+        this.stats = stats;
+    }
+
+    /**
+     * Discards all memos. Called when materials, parts, or traits are reloaded, since part stat
+     * modifiers and traits may have changed.
+     */
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
+    static Recalculation begin(UUID gearId, GearType gearType) {
+        GearStatMemo previous = CACHE.getIfPresent(gearId);
+        return new Recalculation(gearId, gearType, previous != null && previous.gearType == gearType ? previous : null);
+    }
+
+    /**
+     * Tracks a single recalculation, looking up the results of the previous one and collecting
+     * the results for the next.
+     */
+    static final class Recalculation {
+        private final UUID gearId;
+        private final GearType gearType;
+        @Nullable private final GearStatMemo previous;
+        private final List<PartEntry> parts = new ArrayList<>();
+        private final Map<ItemStat, StatEntry> stats = new HashMap<>();
+
+        private Recalculation(UUID gearId, GearType gearType, @Nullable GearStatMemo previous) {
+            this.gearId = gearId;
+            this.gearType = gearType;
+            this.previous = previous;
+        }
+
+        /**
+         * Gets the stat modifiers of each part, keyed by stat. Maps of unchanged parts contain the
+         * previous results, maps of new or changed parts are empty. Parts which cannot reuse their
+         * modifiers get {@code null}. Missing values should be added with
+         * {@link #getPartModifiers(Map, ItemStat, Supplier)}.
+         *
+         * @param partList The gear's parts
+         * @return A map (or null) for each part, in the same order
+         */
+        List<Map<ItemStat, Collection<StatInstance>>> getPartModifierMaps(List<PartData> partList) {
+            List<PartEntry> unused = previous != null ? new ArrayList<>(previous.parts) : Collections.emptyList();
+            List<Map<ItemStat, Collection<StatInstance>>> ret = new ArrayList<>(partList.size());
+
+            for (PartData part : partList) {
+                if (!part.get().canReuseStatModifiers()) {
+                    ret.add(null);
+                    continue;
+                }
+
+                CompoundTag tag = part.write(new CompoundTag());
+                Map<ItemStat, Collection<StatInstance>> previousModifiers = Collections.emptyMap();
+                for (Iterator<PartEntry> iterator = unused.iterator(); iterator.hasNext(); ) {
+                    PartEntry old = iterator.next();
+                    if (old.tag.equals(tag)) {
+                        previousModifiers = old.modifiers;
+                        iterator.remove();
+                        break;
+                    }
+                }
+
+                // Copied, so the previous memo is never modified
+                PartEntry entry = new PartEntry(tag, new HashMap<>(previousModifiers));
+                parts.add(entry);
+                ret.add(entry.modifiers);
+            }
+
+            return ret;
+        }
+
+        Collection<StatInstance> getPartModifiers(@Nullable Map<ItemStat, Collection<StatInstance>> partModifiers, ItemStat stat, Supplier<Collection<StatInstance>> calculate) {
+            if (partModifiers == null) {
+                return calculate.get();
+            }
+
+            Collection<StatInstance> mods = partModifiers.get(stat);
+            if (mods == null) {
+                mods = Collections.unmodifiableCollection(calculate.get());
+                partModifiers.put(stat, mods);
+            }
+            return mods;
+        }
+
+        /**
+         * Gets the value of the stat after traits have modified it, reusing the previous value if
+         * nothing it depends on has changed.
+         *
+         * @param stat         The stat
+         * @param modifiers    The stat modifiers from all parts
+         * @param statGearType The gear type of the most specific modifiers
+         * @param traits       All the gear's traits and their levels
+         * @param damageRatio  The damage ratio given to the traits
+         * @param player       The player given to the traits
+         * @param calculate    Calculates the value if it cannot be reused
+         * @return The stat value, before config multipliers are applied
+         */
+        @SuppressWarnings("MethodWithTooManyParameters")
+        float getStatWithTraits(ItemStat stat,
+                                Collection<StatInstance> modifiers,
+                                GearType statGearType,
+                                Map<ITrait, Integer> traits,
+                                float damageRatio,
+                                @Nullable Player player,
+                                Supplier<Float> calculate) {
+            StatEntry inputs = new StatEntry(stat, modifiers, statGearType, traits, damageRatio, player);
+            StatEntry old = previous != null ? previous.stats.get(stat) : null;
+
+            float value = inputs.reusable && old != null && old.hasSameInputs(inputs) ? old.value : calculate.get();
+            inputs.value = value;
+            stats.put(stat, inputs);
+            return value;
+        }
+
+        /**
+         * Stores the collected results for the next recalculation.
+         */
+        void finish() {
+            List<PartEntry> frozenParts = new ArrayList<>(parts.size());
+            for (PartEntry entry : parts) {
+                frozenParts.add(new PartEntry(entry.tag, Collections.unmodifiableMap(entry.modifiers)));
+            }
+            CACHE.put(gearId, new GearStatMemo(gearType, Collections.unmodifiableList(frozenParts), Collections.unmodifiableMap(stats)));
+        }
+    }
+
+    private static final class PartEntry {
+        private final CompoundTag tag;
+        private final Map<ItemStat, Collection<StatInstance>> modifiers;
+
+        private PartEntry(CompoundTag tag, Map<ItemStat, Collection<StatInstance>> modifiers) {
+            this.tag = tag;
+            this.modifiers = modifiers;
+        }
+    }
+
+    private static final class StatEntry {
+        private final float[] modifierValues;
+        private final StatInstance.Operation[] modifierOps;
+        private final GearType statGearType;
+        // Only the traits which can modify the stat
+        private final ITrait[] traits;
+        private final int[] traitLevels;
+        private final float damageRatio;
+        @Nullable private final UUID playerId;
+        // False if any of the traits does not allow its value to be reused
+        private final boolean reusable;
+        private float value;
+
+        private StatEntry(ItemStat stat, Collection<StatInstance> modifiers, GearType statGearType, Map<ITrait, Integer> traits, float damageRatio, @Nullable Player player) {
+            this.modifierValues = new float[modifiers.size()];
+            this.modifierOps = new StatInstance.Operation[modifiers.size()];
+            int i = 0;
+            for (StatInstance mod : modifiers) {
+                this.modifierValues[i] = mod.getValue();
+                this.modifierOps[i] = mod.getOp();
+                ++i;
+            }
+            this.statGearType = statGearType;
+
+            List<ITrait> traitList = new ArrayList<>();
+            List<Integer> levelList = new ArrayList<>();
+            boolean allReusable = true;
+            for (Map.Entry<ITrait, Integer> entry : traits.entrySet()) {
+                ITrait trait = entry.getKey();
+                if (trait.canModifyStat(stat)) {
+                    traitList.add(trait);
+                    levelList.add(entry.getValue());
+                    allReusable &= trait.canReuseStatValue(stat);
+                }
+            }
+            this.reusable = allReusable;
+            this.traits = traitList.toArray(new ITrait[0]);
+            this.traitLevels = levelList.stream().mapToInt(Integer::intValue).toArray();
+
+            // Only traits are given the damage ratio and player, so ignore them if there are none
+            this.damageRatio = this.traits.length > 0 ? damageRatio : 0f;
+            this.playerId = this.traits.length > 0 && player != null ? player.getUUID() : null;
+        }
+
+        private boolean hasSameInputs(StatEntry other) {
+            return Arrays.equals(modifierValues, other.modifierValues)
+                    && Arrays.equals(modifierOps, other.modifierOps)
+                    && statGearType == other.statGearType
+                    && Arrays.equals(traits, other.traits)
+                    && Arrays.equals(traitLevels, other.traitLevels)
+                    && Float.compare(damageRatio, other.damageRatio) == 0
+                    && Objects.equals(playerId, other.playerId);
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.silentchaos512.gear.api.part.PartType;
+import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.gear.part.PartData;
+import net.silentchaos512.gear.gear.trait.TraitManager;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the data decoded from a gear item's NBT (construction parts, traits,
+ * stats, and tier). Views are cached against the identity of the stack's tag, so repeated reads
+ * from tooltips, color handlers, and trait checks do not need to parse NBT again.
+ * <p>
+ * A view is discarded automatically when the parts list, traits list, or stats compound it was
+ * decoded from is replaced. Code which modifies those tags in place must call
+ * {@link #invalidate(ItemStack)}.
+ */
+public final class GearView {
+    private static final String NBT_ROOT = "SGear_Data";
+    private static final String NBT_ROOT_CONSTRUCTION = "Construction";
+    private static final String NBT_ROOT_PROPERTIES = "Properties";
+    private static final String NBT_CONSTRUCTION_PARTS = "Parts";
+    private static final String NBT_TRAITS = "Traits";
+    private static final String NBT_STATS = "Stats";
+
+    // Weak keys are compared by identity, which is exactly what we want for NBT tags
+    private static final Cache<CompoundTag, GearView> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private static final GearView EMPTY = new GearView(null, null, null, ImmutableList.of(), new ITrait[0], new int[0], new byte[0], new BitSet(), ImmutableSet.of(), ImmutableMap.of());
+
+    @Nullable private final Tag partsSource;
+    @Nullable private final Tag traitsSource;
+    @Nullable private final Tag statsSource;
+
+    private final List<PartData> parts;
+    private final ITrait[] traits;
+    private final int[] traitLevels;
+    // Trait levels indexed by trait ordinal (see TraitManager#getOrdinal)
+    private final byte[] levelsByOrdinal;
+    // Ordinals of all listed traits, including level 0 entries
+    private final BitSet listedOrdinals;
+    // IDs of listed traits which are not loaded, so have no ordinal
+    private final Set<ResourceLocation> unloadedTraitIds;
+    private final Map<ITrait, Integer> traitMap;
+    private final Map<ResourceLocation, Float> stats;
+    private final int tier;
+
+    private GearView(@Nullable Tag partsSource,
+                     @Nullable Tag traitsSource,
+                     @Nullable Tag statsSource,
+                     List<PartData> parts,
+                     ITrait[] traits,
+                     int[] traitLevels,
+                     byte[] levelsByOrdinal,
+                     BitSet listedOrdinals,
+                     Set<ResourceLocation> unloadedTraitIds,
+                     Map<ResourceLocation, Float> stats) {
+        this.partsSource = partsSource;
+        this.traitsSource = traitsSource;
+        this.statsSource = statsSource;
+        this.parts = parts;
+        this.traits = traits;
+        this.traitLevels = traitLevels;
+        this.levelsByOrdinal = levelsByOrdinal;
+        this.listedOrdinals = listedOrdinals;
+        this.unloadedTraitIds = unloadedTraitIds;
+        this.stats = stats;
+
+        Map<ITrait, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < traits.length; ++i) {
+            if (traitLevels[i] > 0) {
+                map.put(traits[i], traitLevels[i]);
+            }
+        }
+        this.traitMap = Collections.unmodifiableMap(map);
+
+        int maxTier = 0;
+        for (PartData part : parts) {
+            if (part.getType() == PartType.MAIN) {
+                maxTier = Math.max(maxTier, part.getTier());
+            }
+        }
+        this.tier = maxTier;
+    }
+
+    /**
+     * Gets the decoded view of the gear item, reusing a cached view if the item's NBT has not
+     * changed since it was created.
+     *
+     * @param gear The gear item
+     * @return The view of the item. Non-gear items and items without NBT give an empty view.
+     */
+    public static GearView of(ItemStack gear) {
+        CompoundTag root = gear.getTag();
+        if (root == null || !GearHelper.isGear(gear)) {
+            return EMPTY;
+        }
+
+        GearView cached = CACHE.getIfPresent(root);
+        if (cached != null && cached.isDecodedFrom(root)) {
+            return cached;
+        }
+
+        GearView view = read(root);
+        CACHE.put(root, view);
+        return view;
+    }
+
+    /**
+     * Decodes a view from the NBT of a gear item, without checking the item or using the cache.
+     * Use {@link #of(ItemStack)} instead unless the NBT is not attached to a gear item.
+     *
+     * @param root The item's root tag
+     * @return A new view of the data
+     */
+    public static GearView read(CompoundTag root) {
+        CompoundTag data = getCompound(root, NBT_ROOT);
+        CompoundTag properties = getCompound(data, NBT_ROOT_PROPERTIES);
+        return decode(find(getCompound(data, NBT_ROOT_CONSTRUCTION), NBT_CONSTRUCTION_PARTS),
+                find(properties, NBT_TRAITS),
+                find(properties, NBT_STATS));
+    }
+
+    private boolean isDecodedFrom(CompoundTag root) {
+        CompoundTag data = getCompound(root, NBT_ROOT);
+        CompoundTag properties = getCompound(data, NBT_ROOT_PROPERTIES);
+        return partsSource == find(getCompound(data, NBT_ROOT_CONSTRUCTION), NBT_CONSTRUCTION_PARTS)
+                && traitsSource == find(properties, NBT_TRAITS)
+                && statsSource == find(properties, NBT_STATS);
+    }
+
+    /**
+     * Discards the cached view of the item. Call this after modifying the item's construction,
+     * traits, or stats NBT in place.
+     *
+     * @param gear The gear item
+     */
+    public static void invalidate(ItemStack gear) {
+        CompoundTag root = gear.getTag();
+        if (root != null) {
+            CACHE.invalidate(root);
+        }
+    }
+
+    /**
+     * Discards all cached views. Called when materials, parts, or traits are reloaded, since views
+     * hold references to the old objects.
+     */
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
+    private static GearView decode(@Nullable Tag partsTag, @Nullable Tag traitsTag, @Nullable Tag statsTag) {
+        ImmutableList.Builder<PartData> parts = ImmutableList.builder();
+        if (partsTag instanceof ListTag) {
+            for (Tag nbt : (ListTag) partsTag) {
+                if (nbt instanceof CompoundTag) {
+                    PartData part = PartData.read((CompoundTag) nbt);
+                    if (part != null) {
+                        parts.add(part);
+                    }
+                }
+            }
+        }
+
+        ITrait[] traits = new ITrait[0];
+        int[] traitLevels = new int[0];
+        byte[] levelsByOrdinal = new byte[0];
+        BitSet listedOrdinals = new BitSet();
+        ImmutableSet.Builder<ResourceLocation> unloadedTraitIds = ImmutableSet.builder();
+        if (traitsTag instanceof ListTag) {
+            ListTag list = (ListTag) traitsTag;
+            traits = new ITrait[list.size()];
+            traitLevels = new int[list.size()];
+            int count = 0;
+            for (Tag nbt : list) {
+                if (nbt instanceof CompoundTag) {
+                    CompoundTag tagCompound = (CompoundTag) nbt;
+                    String name = tagCompound.getString("Name");
+                    ITrait trait = TraitManager.get(name);
+                    if (trait != null) {
+                        traits[count] = trait;
+                        traitLevels[count] = tagCompound.getByte("Level");
+                        ++count;
+                    } else {
+                        ResourceLocation id = ResourceLocation.tryParse(name);
+                        if (id != null) {
+                            unloadedTraitIds.add(id);
+                        }
+                    }
+                }
+            }
+            if (count < traits.length) {
+                ITrait[] trimmedTraits = new ITrait[count];
+                int[] trimmedLevels = new int[count];
+                System.arraycopy(traits, 0, trimmedTraits, 0, count);
+                System.arraycopy(traitLevels, 0, trimmedLevels, 0, count);
+                traits = trimmedTraits;
+                traitLevels = trimmedLevels;
+            }
+
+            levelsByOrdinal = new byte[TraitManager.getOrdinalCount()];
+            for (int i = 0; i < traits.length; ++i) {
+                int ordinal = TraitManager.getOrdinal(traits[i].getId());
+                if (ordinal >= 0) {
+                    listedOrdinals.set(ordinal);
+                }
+                // First entry wins if a trait is somehow listed twice
+                if (ordinal >= 0 && ordinal < levelsByOrdinal.length && levelsByOrdinal[ordinal] == 0) {
+                    levelsByOrdinal[ordinal] = (byte) traitLevels[i];
+                }
+            }
+        }
+
+        Map<ResourceLocation, Float> stats = new LinkedHashMap<>();
+        if (statsTag instanceof CompoundTag) {
+            CompoundTag statsCompound = (CompoundTag) statsTag;
+            for (String key : statsCompound.getAllKeys()) {
+                ResourceLocation id = ResourceLocation.tryParse(key);
+                if (id != null) {
+                    stats.put(id, statsCompound.getFloat(key));
+                }
+            }
+        }
+
+        return new GearView(partsTag, traitsTag, statsTag, parts.build(), traits, traitLevels, levelsByOrdinal, listedOrdinals, unloadedTraitIds.build(), Collections.unmodifiableMap(stats));
+    }
+
+    @Nullable
+    private static CompoundTag getCompound(@Nullable CompoundTag parent, String key) {
+        Tag tag = find(parent, key);
+        return tag instanceof CompoundTag ? (CompoundTag) tag : null;
+    }
+
+    @Nullable
+    private static Tag find(@Nullable CompoundTag parent, String key) {
+        return parent != null ? parent.get(key) : null;
+    }
+
+    /**
+     * Gets the construction parts of the item. The list is immutable and shared, copy it with
+     * {@link net.silentchaos512.gear.api.part.PartDataList#of(java.util.Collection)} if it needs to
+     * be modified.
+     *
+     * @return The construction parts
+     */
+    public List<PartData> getParts() {
+        return parts;
+    }
+
+    @Nullable
+    public PartData getPartOfType(PartType type) {
+        for (PartData part : parts) {
+            if (part.getType() == type) {
+                return part;
+            }
+        }
+        return null;
+    }
+
+    public boolean hasPart(ResourceLocation partId) {
+        for (PartData part : parts) {
+            if (part.getId().equals(partId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the tier of the gear item, which is the tier of the main part with the highest tier.
+     *
+     * @return The gear tier
+     */
+    public int getTier() {
+        return tier;
+    }
+
+    /**
+     * Gets the number of traits on the item. Together with {@link #getTrait(int)} and {@link
+     * #getTraitLevel(int)}, this allows traits to be iterated without creating any objects.
+     *
+     * @return The number of traits
+     */
+    public int getTraitCount() {
+        return traits.length;
+    }
+
+    public ITrait getTrait(int index) {
+        return traits[index];
+    }
+
+    public int getTraitLevel(int index) {
+        return traitLevels[index];
+    }
+
+    /**
+     * Gets the level of the trait with a constant time lookup by trait ordinal.
+     *
+     * @param traitId The trait ID
+     * @return The trait level, or zero if the item does not have the trait
+     */
+    public int getTraitLevel(ResourceLocation traitId) {
+        int ordinal = TraitManager.getOrdinal(traitId);
+        if (ordinal >= 0 && ordinal < levelsByOrdinal.length) {
+            return levelsByOrdinal[ordinal];
+        }
+        return 0;
+    }
+
+    /**
+     * Checks if the trait is listed in the item's traits NBT. Like the trait list itself, this
+     * includes entries with a level of zero and traits which are not currently loaded, so use
+     * {@link #getTraitLevel(ResourceLocation)} to check if the trait is actually active.
+     *
+     * @param traitId The trait ID
+     * @return True if the item has an entry for the trait, at any level
+     */
+    public boolean hasTrait(ResourceLocation traitId) {
+        int ordinal = TraitManager.getOrdinal(traitId);
+        if (ordinal >= 0) {
+            return listedOrdinals.get(ordinal);
+        }
+        return !unloadedTraitIds.isEmpty() && unloadedTraitIds.contains(traitId);
+    }
+
+    /**
+     * Raises each element of {@code target} to the level of the trait with that ordinal on this
+     * item, if higher. Used to combine the traits of several equipped items.
+     *
+     * @param target Trait levels indexed by ordinal
+     */
+    public void mergeHighestTraitLevels(byte[] target) {
+        int count = Math.min(target.length, levelsByOrdinal.length);
+        for (int i = 0; i < count; ++i) {
+            if (levelsByOrdinal[i] > target[i]) {
+                target[i] = levelsByOrdinal[i];
+            }
+        }
+    }
+
+    /**
+     * Sets the bit of each trait listed on this item in {@code target}, including traits with a
+     * level of zero. Used to combine the traits of several equipped items.
+     *
+     * @param target Listed traits indexed by ordinal
+     */
+    public void mergeListedTraits(BitSet target) {
+        target.or(listedOrdinals);
+    }
+
+    /**
+     * Gets all traits with a level greater than zero, in the order they are stored in NBT.
+     *
+     * @return An unmodifiable map of traits to levels
+     */
+    public Map<ITrait, Integer> getTraits() {
+        return traitMap;
+    }
+
+    @Nullable
+    public Float getStat(ResourceLocation statId) {
+        return stats.get(statId);
+    }
+}
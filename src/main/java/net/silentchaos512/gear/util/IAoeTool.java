@@ -22,7 +22,6 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.network.protocol.game.ClientboundBlockUpdatePacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.BlockTags;
@@ -31,7 +30,6 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.HitResult;
@@ -145,35 +143,55 @@ public interface IAoeTool {
                 BlockHitResult brt = (BlockHitResult) rt;
                 Direction side = brt.getDirection();
                 List<BlockPos> extraBlocks = item.getExtraBlocks(world, brt, player, tool);
+                if (extraBlocks.isEmpty()) return false;
 
-                for (BlockPos pos2 : extraBlocks) {
-                    BlockState state = world.getBlockState(pos2);
-                    if (!world.hasChunkAt(pos2) || !player.mayUseItemAt(pos2, side, tool) || !(state.canHarvestBlock(world, pos2, player)))
-                        continue;
-
-                    if (player.getAbilities().instabuild) {
-                        if (state.onDestroyedByPlayer(world, pos2, player, true, state.getFluidState()))
-                            state.getBlock().destroy(world, pos2, state);
-                    } else {
-                        int xp = ForgeHooks.onBlockBreakEvent(world, ((ServerPlayer) player).gameMode.getGameModeForPlayer(), (ServerPlayer) player, pos2);
-                        if (xp == -1) continue;
-                        tool.getItem().mineBlock(tool, world, state, pos2, player);
-                        BlockEntity tileEntity = world.getBlockEntity(pos2);
-
-                        if (state.onDestroyedByPlayer(world, pos2, player, true, state.getFluidState())) {
-                            state.getBlock().destroy(world, pos2, state);
-                            state.getBlock().playerDestroy(world, player, pos2, state, tileEntity, tool);
-                            state.getBlock().popExperience((ServerLevel) world, pos2, xp);
-                        }
-                    }
+                // Large areas are broken over several ticks if needed
+                BlockWorkQueue.submit(new AoeBreakJob((ServerLevel) world, (ServerPlayer) player, tool, pos, stateOriginal, side, extraBlocks));
+            }
+            return false;
+        }
 
-                    // TODO: Maybe add a config? Unfortunately, this code is called only on the server...
-                    //world.playEvent(2001, pos, Block.getStateId(state)); // Playing for each block gets very loud
+        private static final class AoeBreakJob extends BlockWorkQueue.Job {
+            private final ItemStack tool;
+            private final BlockState stateOriginal;
+            private final Direction side;
+            // Drops are combined and block changes are sent once per chunk section
+            private final BlockBreakBatch batch;
+
+            private AoeBreakJob(ServerLevel level, ServerPlayer player, ItemStack tool, BlockPos pos, BlockState stateOriginal, Direction side, List<BlockPos> positions) {
+                super(level, player, positions);
+                this.tool = tool;
+                this.stateOriginal = stateOriginal;
+                this.side = side;
+                this.batch = new BlockBreakBatch(level, player, tool, pos);
+                this.batch.markChanged(pos);
+            }
 
-                    ((ServerPlayer) player).connection.send(new ClientboundBlockUpdatePacket(world, pos));
-                }
+            @Override
+            protected void processPosition(BlockPos pos2) {
+                BlockState state = level.getBlockState(pos2);
+                if (!level.hasChunkAt(pos2) || !player.mayUseItemAt(pos2, side, tool) || !(state.canHarvestBlock(level, pos2, player)))
+                    return;
+                // The block may have changed if this is a later tick
+                if (state.isAir() || !areBlocksSimilar(stateOriginal, state))
+                    return;
+
+                batch.breakBlock(pos2);
+
+                // TODO: Maybe add a config? Unfortunately, this code is called only on the server...
+                //world.playEvent(2001, pos, Block.getStateId(state)); // Playing for each block gets very loud
+            }
+
+            @Override
+            protected void finishSlice() {
+                batch.finish();
+            }
+
+            @Override
+            protected boolean isValid() {
+                // Stop if the tool breaks or is no longer held
+                return super.isValid() && !tool.isEmpty() && player.getMainHandItem() == tool;
             }
-            return false;
         }
 
         /**
@@ -1,19 +0,0 @@
-package net.silentchaos512.gear.util;
-
-import net.minecraft.server.packs.resources.PreparableReloadListener;
-import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.util.profiling.ProfilerFiller;
-
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-
-public interface IEarlySelectiveReloadListener extends PreparableReloadListener {
-    @Override
-    default CompletableFuture<Void> reload(PreparableReloadListener.PreparationBarrier stage, ResourceManager resourceManager, ProfilerFiller preparationsProfiler, ProfilerFiller reloadProfiler, Executor backgroundExecutor, Executor gameExecutor) {
-        return CompletableFuture.runAsync(() -> {
-            this.onResourceManagerReload(resourceManager);
-        }, backgroundExecutor).thenCompose(stage::wait);
-    }
-
-    void onResourceManagerReload(ResourceManager resourceManager);
-}
@@ -0,0 +1,157 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Speeds up finding the first object (material, part, etc.) whose ingredient matches an item.
+ * Objects with simple ingredients are indexed by item, so they can be matched without testing the
+ * ingredient at all. Objects with NBT-sensitive or custom ingredients must still be tested, but
+ * only those are checked. The lookup order is always the same as the order of the source
+ * collection, so results are identical to a linear scan.
+ * <p>
+ * The index is built lazily on the first lookup after {@link #invalidate()} is called, because
+ * tags may not be bound yet when data packs are loaded.
+ *
+ * @param <T> The type of object to look up
+ */
+public final class IngredientIndex<T> {
+    private final Supplier<? extends Collection<T>> valuesSupplier;
+    private final Function<T, Ingredient> ingredientGetter;
+
+    // Weak keys are compared by identity, so this remembers results for specific stack instances
+    private final Cache<ItemStack, Memo<T>> memos = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    @Nullable private volatile Index<T> index;
+
+    public IngredientIndex(Supplier<? extends Collection<T>> valuesSupplier, Function<T, Ingredient> ingredientGetter) {
+        this.valuesSupplier = valuesSupplier;
+        this.ingredientGetter = ingredientGetter;
+    }
+
+    /**
+     * Discards the index and all remembered results. Call this whenever the source collection or
+     * any of the ingredients change, or tags are reloaded.
+     */
+    public void invalidate() {
+        this.index = null;
+        this.memos.invalidateAll();
+    }
+
+    @Nullable
+    public T get(ItemStack stack) {
+        if (stack.isEmpty()) return null;
+
+        Index<T> index = getIndex();
+        Memo<T> memo = this.memos.getIfPresent(stack);
+        if (memo != null && memo.index == index && memo.tag == stack.getTag()) {
+            return memo.result;
+        }
+
+        T result = index.find(stack, this.ingredientGetter);
+        this.memos.put(stack, new Memo<>(index, stack.getTag(), result));
+        return result;
+    }
+
+    private Index<T> getIndex() {
+        Index<T> ret = this.index;
+        if (ret == null) {
+            ret = Index.build(this.valuesSupplier.get(), this.ingredientGetter);
+            this.index = ret;
+        }
+        return ret;
+    }
+
+    private static final class Index<T> {
+        private final Map<Item, List<Candidate<T>>> byItem;
+        private final List<Candidate<T>> slowPath;
+
+        private Index(Map<Item, List<Candidate<T>>> byItem, List<Candidate<T>> slowPath) {
+            this.byItem = byItem;
+            this.slowPath = slowPath;
+        }
+
+        private static <T> Index<T> build(Collection<T> values, Function<T, Ingredient> ingredientGetter) {
+            Map<Item, List<Candidate<T>>> simple = new IdentityHashMap<>();
+            List<Candidate<T>> slowPath = new ArrayList<>();
+
+            int order = 0;
+            for (T value : values) {
+                Ingredient ingredient = ingredientGetter.apply(value);
+                if (ingredient.isSimple()) {
+                    Candidate<T> candidate = new Candidate<>(value, order, false);
+                    for (ItemStack stack : ingredient.getItems()) {
+                        List<Candidate<T>> list = simple.computeIfAbsent(stack.getItem(), item -> new ArrayList<>());
+                        // Avoid adding the same candidate twice if the ingredient lists the item more than once
+                        if (list.isEmpty() || list.get(list.size() - 1) != candidate) {
+                            list.add(candidate);
+                        }
+                    }
+                } else {
+                    slowPath.add(new Candidate<>(value, order, true));
+                }
+                ++order;
+            }
+
+            // Merge the slow path candidates into each item's list, keeping the original order
+            Map<Item, List<Candidate<T>>> byItem = new IdentityHashMap<>(simple.size());
+            simple.forEach((item, list) -> {
+                List<Candidate<T>> merged = new ArrayList<>(list.size() + slowPath.size());
+                merged.addAll(list);
+                merged.addAll(slowPath);
+                merged.sort(Comparator.comparingInt(c -> c.order));
+                byItem.put(item, ImmutableList.copyOf(merged));
+            });
+
+            return new Index<>(byItem, ImmutableList.copyOf(slowPath));
+        }
+
+        @Nullable
+        private T find(ItemStack stack, Function<T, Ingredient> ingredientGetter) {
+            List<Candidate<T>> candidates = this.byItem.getOrDefault(stack.getItem(), this.slowPath);
+            for (Candidate<T> candidate : candidates) {
+                // Simple ingredients only care about the item, which the index already matched
+                if (!candidate.needsTest || ingredientGetter.apply(candidate.value).test(stack)) {
+                    return candidate.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Candidate<T> {
+        private final T value;
+        private final int order;
+        private final boolean needsTest;
+
+        private Candidate(T value, int order, boolean needsTest) {
+            this.value = value;
+            this.order = order;
+            this.needsTest = needsTest;
+        }
+    }
+
+    private static final class Memo<T> {
+        private final Index<T> index;
+        @Nullable private final CompoundTag tag;
+        @Nullable private final T result;
+
+        private Memo(Index<T> index, @Nullable CompoundTag tag, @Nullable T result) {
+            this.index = index;
+            this.tag = tag;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package net.silentchaos512.gear.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.GsonHelper;
+import org.apache.commons.io.IOUtils;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Reads and deserializes the JSON files of data and resource packs on worker threads, for the
+ * prepare phase of reload listeners. Every file is handled by a separate task, but results are
+ * always in the order of the file IDs (the same order as {@link ResourceManager#listResources}),
+ * so loading is still deterministic.
+ */
+public final class ParallelJsonLoader {
+    private ParallelJsonLoader() {throw new IllegalAccessError("Utility class");}
+
+    /**
+     * Reads and parses every JSON file in a folder.
+     *
+     * @param resourceManager The resource manager
+     * @param path            The folder to read, which is removed from the IDs of the files
+     * @param gson            Used to parse the files
+     * @param executor        Executor to read files on, usually the reload's background executor
+     * @return A future list of all files found
+     */
+    public static CompletableFuture<List<JsonFile>> readAll(ResourceManager resourceManager, String path, Gson gson, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> List.copyOf(resourceManager.listResources(path, s -> s.toString().endsWith(".json")).entrySet()), executor)
+                .thenCompose(resources -> mapAll(resources, entry -> read(path, entry.getKey(), entry.getValue(), gson), executor));
+    }
+
+    /**
+     * Deserializes files read with {@link #readAll}. Files which could not be read or are empty
+     * are not given to the deserializer, and their results have no value.
+     *
+     * @param files        The files
+     * @param deserializer Deserializes a file, must be thread-safe
+     * @param executor     Executor to deserialize on, usually the reload's background executor
+     * @param <T>          The type of object deserialized
+     * @return A future list with the result of each file, in the same order
+     */
+    public static <T> CompletableFuture<List<Result<T>>> deserializeAll(List<JsonFile> files, Function<JsonFile, T> deserializer, Executor executor) {
+        return mapAll(files, file -> new Result<>(file, file.json() != null ? deserializer.apply(file) : null), executor);
+    }
+
+    /**
+     * Applies a function to each element of the list as separate tasks.
+     *
+     * @param list     The inputs
+     * @param function The function, must be thread-safe
+     * @param executor Executor to run the tasks on
+     * @param <T>      The type of input
+     * @param <R>      The type of output
+     * @return A future list of outputs, in the same order as the inputs
+     */
+    public static <T, R> CompletableFuture<List<R>> mapAll(List<T> list, Function<? super T, ? extends R> function, Executor executor) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(list.size());
+        for (T t : list) {
+            futures.add(CompletableFuture.supplyAsync(() -> function.apply(t), executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            List<R> ret = new ArrayList<>(futures.size());
+            for (CompletableFuture<R> future : futures) {
+                ret.add(future.join());
+            }
+            return ret;
+        });
+    }
+
+    /**
+     * Waits for the future to complete, rethrowing the original exception if it failed, instead of
+     * a {@link CompletionException}.
+     *
+     * @param future The future
+     * @param <T>    The type of result
+     * @return The result
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            if (ex.getCause() instanceof Error cause) throw cause;
+            throw ex;
+        }
+    }
+
+    private static JsonFile read(String path, ResourceLocation fileId, Resource resource, Gson gson) {
+        String name = fileId.getPath().substring(path.length() + 1, fileId.getPath().length() - ".json".length());
+        ResourceLocation id = new ResourceLocation(fileId.getNamespace(), name);
+        String packName = resource.sourcePackId();
+
+        try (InputStream stream = resource.open()) {
+            JsonObject json = GsonHelper.fromJson(gson, IOUtils.toString(stream, StandardCharsets.UTF_8), JsonObject.class);
+            return new JsonFile(id, packName, json, null);
+        } catch (IOException ex) {
+            return new JsonFile(id, packName, null, ex);
+        }
+    }
+
+    /**
+     * A JSON file which was read.
+     *
+     * @param id       The ID of the object defined by the file (the file path without the folder
+     *                 and extension)
+     * @param packName The ID of the pack the file is from
+     * @param json     The parsed file, or null if it could not be read or was empty
+     * @param error    The exception thrown when reading the file, if any
+     */
+    public record JsonFile(ResourceLocation id, String packName, @Nullable JsonObject json, @Nullable IOException error) {}
+
+    /**
+     * A file and the object deserialized from it, if any.
+     *
+     * @param file  The file
+     * @param value The deserialized object, or null if the file had no JSON
+     * @param <T>   The type of object deserialized
+     */
+    public record Result<T>(JsonFile file, @Nullable T value) {}
+}
@@ -19,15 +19,12 @@
 package net.silentchaos512.gear.util;
 
 import com.google.common.collect.ImmutableMap;
-import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
+import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.Level;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.ModList;
 import net.silentchaos512.gear.SilentGear;
@@ -35,7 +32,6 @@ import net.silentchaos512.gear.api.event.GetTraitsEvent;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.part.PartDataList;
 import net.silentchaos512.gear.api.traits.ITrait;
-import net.silentchaos512.gear.api.traits.TraitActionContext;
 import net.silentchaos512.gear.api.traits.TraitFunction;
 import net.silentchaos512.gear.api.traits.TraitInstance;
 import net.silentchaos512.gear.api.util.DataResource;
@@ -45,7 +41,6 @@ import net.silentchaos512.gear.compat.curios.CuriosCompat;
 import net.silentchaos512.gear.gear.part.PartData;
 import net.silentchaos512.gear.gear.trait.TraitManager;
 
-import javax.annotation.Nullable;
 import java.util.*;
 
 public final class TraitHelper {
@@ -55,8 +50,8 @@ public final class TraitHelper {
      * An easy way to activate an item's traits from anywhere. <strong>Use with care!</strong>
      * Calling this frequently (like every render tick) causes FPS to tank.
      * <p>
-     * This implementation pulls the item's traits straight from NBT to minimize object creation.
-     * The {@link TraitFunction} is applied to every trait.
+     * This implementation reads the item's traits from its cached {@link GearView} to minimize
+     * object creation. The {@link TraitFunction} is applied to every trait.
      *
      * @param gear       The {@link net.silentchaos512.gear.api.item.ICoreItem} affected
      * @param inputValue The base value to have the traits act on.
@@ -72,20 +67,11 @@ public final class TraitHelper {
             return inputValue;
         }
 
-        ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
+        GearView view = GearView.of(gear);
         float value = inputValue;
 
-        for (Tag nbt : tagList) {
-            if (nbt instanceof CompoundTag) {
-                CompoundTag tagCompound = (CompoundTag) nbt;
-                String regName = tagCompound.getString("Name");
-                ITrait trait = TraitManager.get(regName);
-
-                if (trait != null) {
-                    int level = tagCompound.getByte("Level");
-                    value = action.apply(trait, level, value);
-                }
-            }
+        for (int i = 0; i < view.getTraitCount(); ++i) {
+            value = action.apply(view.getTrait(i), view.getTraitLevel(i), value);
         }
 
         return value;
@@ -93,8 +79,8 @@ public final class TraitHelper {
 
     /**
      * Gets the level of the trait on the gear, or zero if it does not have the trait. Similar to
-     * {@link #activateTraits(ItemStack, float, TraitFunction)}, this pulls the traits straight from
-     * NBT to minimize object creation.
+     * {@link #activateTraits(ItemStack, float, TraitFunction)}, this reads the item's cached
+     * {@link GearView} to minimize object creation.
      *
      * @param gear  The {@link net.silentchaos512.gear.api.item.ICoreItem}
      * @param trait The trait to look for
@@ -106,8 +92,8 @@ public final class TraitHelper {
 
     /**
      * Gets the level of the trait on the gear, or zero if it does not have the trait. Similar to
-     * {@link #activateTraits(ItemStack, float, TraitFunction)}, this pulls the traits straight from
-     * NBT to minimize object creation.
+     * {@link #activateTraits(ItemStack, float, TraitFunction)}, this reads the item's cached
+     * {@link GearView} to minimize object creation.
      *
      * @param gear  The {@link net.silentchaos512.gear.api.item.ICoreItem}
      * @param trait The trait to look for
@@ -127,17 +113,7 @@ public final class TraitHelper {
      */
     public static int getTraitLevel(ItemStack gear, ResourceLocation traitId) {
         if (GearHelper.isGear(gear)) {
-            ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
-
-            for (Tag nbt : tagList) {
-                if (nbt instanceof CompoundTag) {
-                    CompoundTag tagCompound = (CompoundTag) nbt;
-                    String regName = tagCompound.getString("Name");
-                    if (regName.equals(traitId.toString())) {
-                        return tagCompound.getByte("Level");
-                    }
-                }
-            }
+            return GearView.of(gear).getTraitLevel(traitId);
         }
 
         return 0;
@@ -169,19 +145,7 @@ public final class TraitHelper {
      */
     public static boolean hasTrait(ItemStack gear, ResourceLocation traitId) {
         if (GearHelper.isGear(gear)) {
-            ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
-
-            for (Tag nbt : tagList) {
-                if (nbt instanceof CompoundTag) {
-                    CompoundTag tagCompound = (CompoundTag) nbt;
-                    String regName = tagCompound.getString("Name");
-                    if (regName.equals(traitId.toString())) {
-                        return true;
-                    }
-                }
-            }
-
-            return false;
+            return GearView.of(gear).hasTrait(traitId);
         }
 
         return false;
@@ -193,20 +157,30 @@ public final class TraitHelper {
 
     @Deprecated
     public static int getHighestLevelEitherHand(Player player, ResourceLocation traitId) {
-        ItemStack main = player.getMainHandItem();
-        ItemStack off = player.getOffhandItem();
-        return Math.max(getTraitLevel(main, traitId), getTraitLevel(off, traitId));
+        return EquippedTraitState.get(player).getHighestLevelEitherHand(traitId);
+    }
+
+    /**
+     * Gets the level of the trait on the item the player has in the given slot. This reads the
+     * player's {@link EquippedTraitState}, so it is cheap enough to call every tick.
+     *
+     * @param player The player
+     * @param slot   The equipment slot
+     * @param trait  The trait
+     * @return The trait level, or zero if the item in the slot does not have the trait
+     */
+    public static int getTraitLevel(Player player, EquipmentSlot slot, DataResource<ITrait> trait) {
+        return EquippedTraitState.get(player).getTraitLevel(slot, trait.getId());
     }
 
     public static int getHighestLevelArmor(Player player, DataResource<ITrait> trait) {
-        int max = 0;
-        for (ItemStack stack : player.getInventory().armor) {
-            max = Math.max(max, getTraitLevel(stack, trait));
-        }
-        return max;
+        return EquippedTraitState.get(player).getHighestLevelArmor(trait.getId());
     }
 
     public static int getHighestLevelCurio(LivingEntity entity, DataResource<ITrait> trait) {
+        if (entity instanceof Player player) {
+            return EquippedTraitState.get(player).getHighestLevelCurio(trait.getId());
+        }
         if (ModList.get().isLoaded(Const.CURIOS)) {
             return CuriosCompat.getHighestTraitLevel(entity, trait);
         }
@@ -214,7 +188,8 @@ public final class TraitHelper {
     }
 
     public static int getHighestLevelArmorOrCurio(Player player, DataResource<ITrait> trait) {
-        return Math.max(getHighestLevelArmor(player, trait), getHighestLevelCurio(player, trait));
+        EquippedTraitState state = EquippedTraitState.get(player);
+        return Math.max(state.getHighestLevelArmor(trait.getId()), state.getHighestLevelCurio(trait.getId()));
     }
 
     public static boolean hasTraitEitherHand(Player player, DataResource<ITrait> trait) {
@@ -223,39 +198,30 @@ public final class TraitHelper {
 
     @Deprecated
     public static boolean hasTraitEitherHand(Player player, ResourceLocation traitId) {
-        ItemStack main = player.getMainHandItem();
-        ItemStack off = player.getOffhandItem();
-        return hasTrait(main, traitId) || hasTrait(off, traitId);
+        if (TraitManager.getOrdinal(traitId) < 0) {
+            // Not loaded, so the equipped state cannot know about it, but it may still be listed
+            return hasTrait(player.getMainHandItem(), traitId) || hasTrait(player.getOffhandItem(), traitId);
+        }
+        return EquippedTraitState.get(player).isListedEitherHand(traitId);
     }
 
     public static boolean hasTraitArmor(Player player, DataResource<ITrait> trait) {
-        for (ItemStack stack : player.getInventory().armor) {
-            if (hasTrait(stack, trait)) {
-                return true;
+        if (TraitManager.getOrdinal(trait.getId()) < 0) {
+            // Not loaded, so the equipped state cannot know about it, but it may still be listed
+            for (ItemStack stack : player.getInventory().armor) {
+                if (hasTrait(stack, trait)) {
+                    return true;
+                }
             }
+            return false;
         }
-        return false;
+        return EquippedTraitState.get(player).isListedArmor(trait.getId());
     }
 
     public static Map<ITrait, Integer> getCachedTraits(ItemStack gear) {
         if (!GearHelper.isGear(gear)) return ImmutableMap.of();
 
-        Map<ITrait, Integer> result = new LinkedHashMap<>();
-        ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
-
-        for (Tag nbt : tagList) {
-            if (nbt instanceof CompoundTag) {
-                CompoundTag tagCompound = (CompoundTag) nbt;
-                String name = tagCompound.getString("Name");
-                ITrait trait = TraitManager.get(name);
-                int level = tagCompound.getByte("Level");
-                if (trait != null && level > 0) {
-                    result.put(trait, level);
-                }
-            }
-        }
-
-        return result;
+        return GearView.of(gear).getTraits();
     }
 
     @Deprecated
@@ -362,20 +328,4 @@ public final class TraitHelper {
             }
         }
     }
-
-    static void tickTraits(Level world, @Nullable Player player, ItemStack gear, boolean isEquipped) {
-        ListTag tagList = GearData.getPropertiesData(gear).getList("Traits", Tag.TAG_COMPOUND);
-
-        for (int i = 0; i < tagList.size(); ++i) {
-            CompoundTag tagCompound = tagList.getCompound(i);
-            String regName = tagCompound.getString("Name");
-            ITrait trait = TraitManager.get(regName);
-
-            if (trait != null) {
-                int level = tagCompound.getByte("Level");
-                TraitActionContext context = new TraitActionContext(player, level, gear);
-                trait.onUpdate(context, isEquipped);
-            }
-        }
-    }
 }
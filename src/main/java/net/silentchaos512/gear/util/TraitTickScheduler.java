@@ -0,0 +1,60 @@
+package net.silentchaos512.gear.util;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.api.traits.TraitTickInterest;
+
+import javax.annotation.Nullable;
+
+/**
+ * Updates the traits of gear items as they are ticked on the server, calling
+ * {@link ITrait#onUpdate} only for traits which are due according to their
+ * {@link ITrait#getTickInterest()}. Each item and trait gets its own phase, so the updates of
+ * traits with longer periods are spread out over the period instead of all happening on the same
+ * tick.
+ */
+public final class TraitTickScheduler {
+    private TraitTickScheduler() {throw new IllegalAccessError("Utility class");}
+
+    /**
+     * Updates the traits of the gear item which are due on this tick.
+     *
+     * @param world      The world
+     * @param player     The player holding the item, if any
+     * @param gear       The gear item
+     * @param isEquipped If the item is equipped
+     */
+    public static void tick(Level world, @Nullable Player player, ItemStack gear, boolean isEquipped) {
+        GearView view = GearView.of(gear);
+        int count = view.getTraitCount();
+        if (count == 0) return;
+
+        long time = world.getGameTime();
+        int phase = getPhase(gear);
+
+        for (int i = 0; i < count; ++i) {
+            ITrait trait = view.getTrait(i);
+            if (isDue(trait.getTickInterest(), isEquipped, time, phase + i)) {
+                trait.onUpdate(new TraitActionContext(player, view.getTraitLevel(i), gear), isEquipped);
+            }
+        }
+    }
+
+    private static boolean isDue(TraitTickInterest interest, boolean isEquipped, long time, int phase) {
+        if (!interest.ticks() || (interest.equippedOnly() && !isEquipped)) {
+            return false;
+        }
+        int period = interest.period();
+        return period == 1 || Math.floorMod(time + phase, period) == 0;
+    }
+
+    private static int getPhase(ItemStack gear) {
+        // Stacks stay the same object while they sit in an inventory, so this is stable enough.
+        // Mixed because identity hashes of stacks created together tend to be close.
+        return HashCommon.mix(System.identityHashCode(gear)) & Integer.MAX_VALUE;
+    }
+}
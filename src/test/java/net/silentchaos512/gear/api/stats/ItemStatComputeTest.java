@@ -0,0 +1,226 @@
+package net.silentchaos512.gear.api.stats;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.minecraft.util.Mth;
+import net.silentchaos512.gear.api.item.GearType;
+import net.silentchaos512.gear.api.stats.StatInstance.Operation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Golden-value tests for {@link ItemStat#compute}. Every stat is computed from the modifiers of
+ * the shipped materials, alone and combined, with both the current implementation and a copy of
+ * the original one (before modifiers were bucketed by operation). The results must be
+ * bit-identical.
+ * <p>
+ * Stat subclasses adjust the result of {@link ItemStat#compute}, so the baseline applies the same
+ * adjustment. Stats of any other class fail the test until the baseline knows about them.
+ */
+public class ItemStatComputeTest {
+    private static final String DATA_DIR_PROPERTY = "silentgear.test.data";
+    private static final GearType[] GEAR_TYPES = {GearType.ALL, GearType.PICKAXE, GearType.SWORD, GearType.CHESTPLATE};
+
+    // Stat modifier maps of all shipped materials, by part type ("main", "rod", ...)
+    private static final Map<String, List<StatModifierMap>> MATERIAL_STATS = new TreeMap<>();
+
+    @BeforeAll
+    public static void loadMaterials() throws IOException {
+        String dir = System.getProperty(DATA_DIR_PROPERTY);
+        if (dir == null) {
+            throw new IllegalStateException("System property " + DATA_DIR_PROPERTY + " is not set, run tests with the test Gradle task");
+        }
+
+        Path materialsDir = Paths.get(dir).resolve("silentgear_materials");
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(materialsDir)) {
+            files = stream.filter(p -> p.toString().endsWith(".json")).sorted().toList();
+        }
+
+        for (Path file : files) {
+            JsonObject json;
+            try (Reader reader = Files.newBufferedReader(file)) {
+                json = JsonParser.parseReader(reader).getAsJsonObject();
+            }
+            if (json.has("stats")) {
+                for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("stats").entrySet()) {
+                    MATERIAL_STATS.computeIfAbsent(entry.getKey(), k -> new ArrayList<>())
+                            .add(StatModifierMap.deserialize(entry.getValue()));
+                }
+            }
+        }
+
+        assertFalse(MATERIAL_STATS.isEmpty(), "No material stats found in " + materialsDir);
+    }
+
+    @Test
+    public void computeSingleMaterials() {
+        for (List<StatModifierMap> maps : MATERIAL_STATS.values()) {
+            for (StatModifierMap map : maps) {
+                checkAll(List.of(map));
+            }
+        }
+    }
+
+    @Test
+    public void computeMaterialPairs() {
+        for (List<StatModifierMap> maps : MATERIAL_STATS.values()) {
+            for (StatModifierMap first : maps) {
+                for (StatModifierMap second : maps) {
+                    checkAll(List.of(first, second));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void computeMaterialRuns() {
+        // Longer combinations, including repeated materials, like a main part made of several materials
+        for (List<StatModifierMap> maps : MATERIAL_STATS.values()) {
+            for (int i = 0; i < maps.size(); ++i) {
+                StatModifierMap a = maps.get(i);
+                StatModifierMap b = maps.get((i + 1) % maps.size());
+                StatModifierMap c = maps.get((i + 2) % maps.size());
+                checkAll(List.of(a, b, c));
+                checkAll(List.of(a, a, b));
+                checkAll(List.of(a, b, c, a, b));
+            }
+        }
+    }
+
+    private static void checkAll(List<StatModifierMap> maps) {
+        for (ItemStat stat : ItemStats.allStatsOrdered()) {
+            for (GearType gearType : GEAR_TYPES) {
+                List<StatInstance> mods = new ArrayList<>();
+                for (StatModifierMap map : maps) {
+                    mods.addAll(map.get(stat, gearType));
+                }
+                check(stat, gearType, mods);
+            }
+        }
+    }
+
+    private static void check(ItemStat stat, GearType gearType, List<StatInstance> mods) {
+        for (boolean clamp : new boolean[]{true, false}) {
+            float expected = Baseline.compute(stat, stat.getBaseValue(), clamp, mods);
+            float actual = stat.compute(stat.getBaseValue(), clamp, gearType, gearType, mods);
+            assertEquals(Float.floatToIntBits(expected), Float.floatToIntBits(actual),
+                    () -> String.format("%s (%s, clamp=%s): expected %s but was %s, modifiers %s",
+                            stat.getStatId(), gearType.getName(), clamp, expected, actual, mods));
+        }
+
+        for (Operation op : Operation.values()) {
+            float expected = Baseline.getWeightedAverage(mods, op);
+            float actual = ItemStat.getWeightedAverage(mods, op);
+            assertEquals(Float.floatToIntBits(expected), Float.floatToIntBits(actual),
+                    () -> String.format("%s weighted average (%s): expected %s but was %s", stat.getStatId(), op, expected, actual));
+        }
+    }
+
+    /**
+     * The original implementation of {@link ItemStat#compute}, which makes one pass over the
+     * modifiers for each operation.
+     */
+    private static final class Baseline {
+        private static final float WEIGHT_BASE_MIN = 2f;
+        private static final float WEIGHT_BASE_MAX = 40f;
+        private static final float WEIGHT_DEVIATION_COEFF = 2f;
+
+        static float compute(ItemStat stat, float baseValue, boolean clampValue, Collection<StatInstance> modifiers) {
+            float value = computeBase(stat, baseValue, clampValue, modifiers);
+
+            if (stat.getClass() == ItemStat.class || stat.getClass() == SplitItemStat.class) {
+                // Split stats only change the value when the item and stat gear types differ, which they never do here
+                return value;
+            }
+            if (stat.getClass() == EvenSplitItemStat.class) {
+                return value / ((EvenSplitItemStat) stat).getSplits();
+            }
+            return fail("No baseline for stat class " + stat.getClass().getName() + " (" + stat.getStatId() + ")");
+        }
+
+        private static float computeBase(ItemStat stat, float baseValue, boolean clampValue, Collection<StatInstance> modifiers) {
+            if (modifiers.isEmpty())
+                return baseValue;
+
+            float f0 = baseValue;
+
+            // Average (weighted, used for mains)
+            f0 += getWeightedAverage(modifiers, Operation.AVG);
+
+            // Maximum
+            for (StatInstance mod : modifiers)
+                if (mod.getOp() == Operation.MAX)
+                    f0 = Math.max(f0, mod.getValue());
+
+            // Multiplicative
+            float f1 = f0;
+            for (StatInstance mod : modifiers)
+                if (mod.getOp() == Operation.MUL1)
+                    f1 += f0 * mod.getValue();
+
+            // Multiplicative2
+            for (StatInstance mod : modifiers)
+                if (mod.getOp() == Operation.MUL2)
+                    f1 *= 1.0f + mod.getValue();
+
+            // Additive
+            for (StatInstance mod : modifiers)
+                if (mod.getOp() == Operation.ADD)
+                    f1 += mod.getValue();
+
+            return clampValue ? stat.clampValue(f1) : f1;
+        }
+
+        private static float getPrimaryMod(Iterable<StatInstance> modifiers, Operation op) {
+            float primaryMod = -1f;
+            for (StatInstance mod : modifiers) {
+                if (mod.getOp() == op) {
+                    if (primaryMod < 0f) {
+                        primaryMod = mod.getValue();
+                    }
+                }
+            }
+            return primaryMod > 0 ? primaryMod : 1;
+        }
+
+        static float getWeightedAverage(Collection<StatInstance> modifiers, Operation op) {
+            float primaryMod = getPrimaryMod(modifiers, op);
+            float ret = 0;
+            int count = 0;
+            float totalWeight = 0f;
+            for (StatInstance mod : modifiers) {
+                if (mod.getOp() == op) {
+                    ++count;
+                    float weight = getModifierWeight(mod, primaryMod, count);
+                    totalWeight += weight;
+                    ret += mod.getValue() * weight;
+                }
+            }
+            return count > 0 && totalWeight > 0 ? ret / totalWeight : ret;
+        }
+
+        private static float getModifierWeight(StatInstance mod, float primaryMod, int count) {
+            float weightBase = WEIGHT_BASE_MIN + WEIGHT_DEVIATION_COEFF * (mod.getValue() - primaryMod) / primaryMod;
+            float weightBaseClamped = Mth.clamp(weightBase, WEIGHT_BASE_MIN, WEIGHT_BASE_MAX);
+            return (float) Math.pow(weightBaseClamped, -(count == 0 ? count : 0.5 + 0.5f * count));
+        }
+    }
+}